@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2013 47 Degrees, LLC
+ * http://47deg.com
+ * hello@47deg.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fortysevendeg.android.swipelistview;
+
+import android.widget.ListAdapter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the open and closed state queries done while touching and laying out rows, and of
+ * resolving the opened items again after the adapter changed
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class OpenedItemsBenchmark {
+
+    private static final int ITEMS = 10000;
+
+    /**
+     * One of every OPEN_EVERY items is open
+     */
+    private static final int OPEN_EVERY = 50;
+
+    @Param({"false", "true"})
+    private boolean stableIds;
+
+    private OpenedItems openedItems;
+    private ListAdapter adapter;
+    private int position;
+
+    @Setup
+    public void setUp() {
+        adapter = new ListAdapter() {
+            @Override
+            public int getCount() {
+                return ITEMS;
+            }
+
+            @Override
+            public long getItemId(int position) {
+                return 1000L + position * 7L;
+            }
+
+            @Override
+            public boolean hasStableIds() {
+                return stableIds;
+            }
+        };
+        openedItems = new OpenedItems();
+        openedItems.update(adapter);
+        for (int i = 0; i < ITEMS; i += OPEN_EVERY) {
+            openedItems.open(i, (i & 1) == 0);
+        }
+    }
+
+    private int nextPosition() {
+        position = (position + 13) % ITEMS;
+        return position;
+    }
+
+    /**
+     * ACTION_DOWN: is the touched row open and to which side
+     */
+    @Benchmark
+    public boolean isOpen() {
+        final int position = nextPosition();
+        return openedItems.isOpen(position) && openedItems.wasSwipedRight(position);
+    }
+
+    /**
+     * Only one item open: the other opened item when a row starts to open
+     */
+    @Benchmark
+    public int nextOpen() {
+        return openedItems.nextOpen(nextPosition());
+    }
+
+    /**
+     * Every opened item resolved again after DataSetObserver.onChanged
+     */
+    @Benchmark
+    public int update() {
+        openedItems.update(adapter);
+        return openedItems.size();
+    }
+
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2013 47 Degrees, LLC
+ * http://47deg.com
+ * hello@47deg.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fortysevendeg.android.swipelistview;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the ACTION_DOWN hit test over the visible children of the list. The rows are read
+ * through RowFinder.Rows like the touch listener reads the children, with rows of varying height
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RowFinderBenchmark {
+
+    /**
+     * Number of visible children
+     */
+    @Param({"8", "32", "128"})
+    private int children;
+
+    private int[] bottoms;
+    private int height;
+    private int touch;
+
+    private final RowFinder.Rows rows = new RowFinder.Rows() {
+        @Override
+        public int getRowCount() {
+            return bottoms.length;
+        }
+
+        @Override
+        public int getRowBottom(int index) {
+            return bottoms[index];
+        }
+    };
+
+    @Setup
+    public void setUp() {
+        bottoms = new int[children];
+        int bottom = 0;
+        for (int i = 0; i < children; i++) {
+            bottom += 72 + 24 * (i % 3);
+            bottoms[i] = bottom;
+        }
+        height = bottom;
+    }
+
+    @Benchmark
+    public int find() {
+        // spreads the touches over the whole list
+        touch = (touch + 97) % height;
+        return RowFinder.find(rows, touch);
+    }
+
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (C) 2013 47 Degrees, LLC
+ * http://47deg.com
+ * hello@47deg.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fortysevendeg.android.swipelistview;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per event cost of the touch path of SwipeListViewTouchListener: the move of a swipe in
+ * progress, with and without the low latency prediction, the move of a vertical scroll that
+ * never becomes a swipe and a whole gesture from down to up. Run with "-prof gc" to check that
+ * none of them allocates.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SwipeGestureBenchmark {
+
+    private static final int SLOP = 16;
+    private static final int MIN_FLING_VELOCITY = 100;
+    private static final int MAX_FLING_VELOCITY = 8000;
+    private static final int VIEW_WIDTH = 720;
+    private static final long PREDICTION_TIME = 8;
+
+    /**
+     * Samples of one drag, a power of two so the index wraps with a mask
+     */
+    private static final int SAMPLES = 64;
+
+    /**
+     * Time between samples, in milliseconds
+     */
+    private static final long FRAME = 8;
+
+    private final float[] xs = new float[SAMPLES];
+    private final float[] ys = new float[SAMPLES];
+
+    private SwipeGesture swipe;
+    private SwipeGesture scroll;
+    private SwipeGesture gesture;
+    private long time;
+    private int sample;
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < SAMPLES; i++) {
+            // a drag toward the right that goes back and forth, with some vertical noise
+            xs[i] = 100 + 5 * (i < SAMPLES / 2 ? i : SAMPLES - i);
+            ys[i] = 300 + (i % 3);
+        }
+        swipe = newGesture();
+        swipe.down(0, 0, 300, false, false, true, true);
+        swipe.move(FRAME, 100, 300);
+        scroll = newGesture();
+        gesture = newGesture();
+        time = FRAME;
+    }
+
+    private static SwipeGesture newGesture() {
+        SwipeGesture gesture = new SwipeGesture(SLOP, MIN_FLING_VELOCITY, MAX_FLING_VELOCITY, 0, 0);
+        gesture.setViewWidth(VIEW_WIDTH);
+        return gesture;
+    }
+
+    /**
+     * ACTION_MOVE of a swipe in progress
+     */
+    @Benchmark
+    public float move() {
+        final int index = sample++ & (SAMPLES - 1);
+        time += FRAME;
+        swipe.move(time, xs[index], ys[index]);
+        return swipe.getTranslation();
+    }
+
+    /**
+     * ACTION_MOVE of a swipe in progress with swipeLowLatency
+     */
+    @Benchmark
+    public float moveLowLatency() {
+        final int index = sample++ & (SAMPLES - 1);
+        time += FRAME;
+        swipe.move(time, xs[index], ys[index]);
+        return swipe.getPredictedTranslation(PREDICTION_TIME, SLOP);
+    }
+
+    /**
+     * ACTION_MOVE of a vertical scroll past the slop, the velocity is computed on every event.
+     * The scroll starts again every SAMPLES events
+     */
+    @Benchmark
+    public boolean moveVertical() {
+        final int index = sample++ & (SAMPLES - 1);
+        time += FRAME;
+        if (index == 0) {
+            scroll.down(time, 0, 0, false, false, true, true);
+        }
+        return scroll.move(time, 20 + (index & 1), 40 * (index + 1));
+    }
+
+    /**
+     * A whole swipe: down, one move per sample and up
+     */
+    @Benchmark
+    public boolean gesture() {
+        gesture.down(0, xs[0], ys[0], false, false, true, true);
+        for (int i = 1; i < SAMPLES; i++) {
+            gesture.move(i * FRAME, xs[i], ys[i]);
+            gesture.getTranslation();
+        }
+        gesture.up(SAMPLES * FRAME, xs[SAMPLES - 1], ys[SAMPLES - 1]);
+        return gesture.isSwap();
+    }
+
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2013 47 Degrees, LLC
+ * http://47deg.com
+ * hello@47deg.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fortysevendeg.android.swipelistview;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the least squares velocity fit, with the history partially or completely inside the
+ * horizon of the estimator
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class VelocityEstimatorBenchmark {
+
+    /**
+     * Time between samples in milliseconds. At 4 the whole history is in the horizon, at 16
+     * only the last samples are
+     */
+    @Param({"4", "16"})
+    private long frame;
+
+    private VelocityEstimator estimator;
+    private long time;
+
+    @Setup
+    public void setUp() {
+        estimator = new VelocityEstimator();
+        for (int i = 0; i < 32; i++) {
+            addSample();
+        }
+    }
+
+    private void addSample() {
+        time += frame;
+        estimator.addSample(time, time * 1.5f, 300 + (time & 3));
+    }
+
+    /**
+     * The fit alone, as done for every move with swipeLowLatency
+     */
+    @Benchmark
+    public float computeVelocity() {
+        estimator.computeVelocity();
+        return estimator.getXVelocity();
+    }
+
+    /**
+     * A new sample and the fit, as done for every move before a swipe starts
+     */
+    @Benchmark
+    public float addSampleAndComputeVelocity() {
+        addSample();
+        estimator.computeVelocity();
+        return estimator.getXVelocity();
+    }
+
+}
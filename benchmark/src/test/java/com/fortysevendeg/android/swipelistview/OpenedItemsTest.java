@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2013 47 Degrees, LLC
+ * http://47deg.com
+ * hello@47deg.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fortysevendeg.android.swipelistview;
+
+import android.widget.ListAdapter;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class OpenedItemsTest {
+
+    private OpenedItems openedItems;
+
+    @Before
+    public void setUp() {
+        openedItems = new OpenedItems();
+    }
+
+    private static ListAdapter adapter(final boolean stableIds, final long... ids) {
+        return new ListAdapter() {
+            @Override
+            public int getCount() {
+                return ids.length;
+            }
+
+            @Override
+            public long getItemId(int position) {
+                return ids[position];
+            }
+
+            @Override
+            public boolean hasStableIds() {
+                return stableIds;
+            }
+        };
+    }
+
+    @Test
+    public void opensAndCloses() {
+        openedItems.open(3, true);
+        openedItems.open(5, false);
+        assertTrue(openedItems.isOpen(3));
+        assertTrue(openedItems.wasSwipedRight(3));
+        assertFalse(openedItems.wasSwipedRight(5));
+        assertFalse(openedItems.isOpen(-1));
+        assertEquals(2, openedItems.size());
+        assertEquals(5, openedItems.nextOpen(4));
+        openedItems.close(3);
+        assertFalse(openedItems.isOpen(3));
+        assertFalse(openedItems.wasSwipedRight(3));
+        assertEquals(-1, openedItems.nextOpen(6));
+    }
+
+    @Test
+    public void removeShiftsTheFollowingItems() {
+        openedItems.open(2, false);
+        openedItems.open(6, true);
+        openedItems.remove(4);
+        assertTrue(openedItems.isOpen(2));
+        assertFalse(openedItems.isOpen(6));
+        assertTrue(openedItems.isOpen(5));
+        assertTrue(openedItems.wasSwipedRight(5));
+    }
+
+    @Test
+    public void withoutStableIdsItemsBeyondTheEndAreDropped() {
+        openedItems.update(adapter(false, 10, 11, 12, 13, 14, 15));
+        openedItems.open(1, false);
+        openedItems.open(5, false);
+        openedItems.update(adapter(false, 10, 11, 12));
+        assertTrue(openedItems.isOpen(1));
+        assertFalse(openedItems.isOpen(5));
+    }
+
+    @Test
+    public void stableIdsFollowTheirItems() {
+        openedItems.update(adapter(true, 10, 11, 12, 13));
+        openedItems.open(1, true);
+        openedItems.open(3, false);
+        openedItems.update(adapter(true, 9, 13, 10, 11));
+        assertTrue(openedItems.isOpen(1));
+        assertFalse(openedItems.wasSwipedRight(1));
+        assertTrue(openedItems.isOpen(3));
+        assertTrue(openedItems.wasSwipedRight(3));
+        assertEquals(2, openedItems.size());
+    }
+
+    @Test
+    public void stableIdsNotFoundAreForgotten() {
+        openedItems.update(adapter(true, 10, 11, 12));
+        openedItems.open(2, false);
+        openedItems.update(adapter(true, 10, 11));
+        assertTrue(openedItems.isEmpty());
+        openedItems.update(adapter(true, 10, 11, 12));
+        assertTrue(openedItems.isEmpty());
+    }
+
+}
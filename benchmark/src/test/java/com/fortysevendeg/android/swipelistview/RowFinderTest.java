@@ -0,0 +1,62 @@
+/*
+ * Copyright (C) 2013 47 Degrees, LLC
+ * http://47deg.com
+ * hello@47deg.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fortysevendeg.android.swipelistview;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class RowFinderTest {
+
+    private static RowFinder.Rows rows(final int... bottoms) {
+        return new RowFinder.Rows() {
+            @Override
+            public int getRowCount() {
+                return bottoms.length;
+            }
+
+            @Override
+            public int getRowBottom(int index) {
+                return bottoms[index];
+            }
+        };
+    }
+
+    @Test
+    public void noRows() {
+        assertEquals(-1, RowFinder.find(rows(), 10));
+    }
+
+    @Test
+    public void findsTheRowUnderThePoint() {
+        RowFinder.Rows rows = rows(100, 150, 300, 310, 400);
+        assertEquals(0, RowFinder.find(rows, 0));
+        assertEquals(0, RowFinder.find(rows, 99));
+        assertEquals(1, RowFinder.find(rows, 100));
+        assertEquals(2, RowFinder.find(rows, 299));
+        assertEquals(3, RowFinder.find(rows, 305));
+        assertEquals(4, RowFinder.find(rows, 399));
+    }
+
+    @Test
+    public void belowTheLastRowReturnsTheLastRow() {
+        assertEquals(2, RowFinder.find(rows(100, 200, 300), 350));
+    }
+
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2013 47 Degrees, LLC
+ * http://47deg.com
+ * hello@47deg.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fortysevendeg.android.swipelistview;
+
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks that the ACTION_MOVE path does not allocate once it is warmed up
+ */
+public class SwipeGestureAllocationTest {
+
+    private static final int WARMUP_MOVES = 200000;
+    private static final int MOVES = 100000;
+    private static final long FRAME = 8;
+
+    private com.sun.management.ThreadMXBean threads;
+    private long threadId;
+    private SwipeGesture swipe;
+    private SwipeGesture scroll;
+    private long time;
+    private float result;
+
+    @Before
+    public void setUp() {
+        Assume.assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+        threadId = Thread.currentThread().getId();
+
+        swipe = new SwipeGesture(16, 100, 8000, 0, 0);
+        swipe.setViewWidth(720);
+        swipe.down(0, 0, 300, false, false, true, true);
+        scroll = new SwipeGesture(16, 100, 8000, 0, 0);
+        scroll.setViewWidth(720);
+    }
+
+    private void moves(int count) {
+        for (int i = 0; i < count; i++) {
+            time += FRAME;
+            final int index = i & 63;
+            swipe.move(time, 100 + 5 * (index < 32 ? index : 64 - index), 300 + (i % 3));
+            result += swipe.getTranslation() + swipe.getPredictedTranslation(8, 16);
+            if (index == 0) {
+                scroll.down(time, 0, 0, false, false, true, true);
+            }
+            if (scroll.move(time, 20 + (i & 1), 40 * (index + 1))) {
+                result++;
+            }
+        }
+    }
+
+    private long allocatedBytes() {
+        return threads.getThreadAllocatedBytes(threadId);
+    }
+
+    @Test
+    public void moveDoesNotAllocate() {
+        moves(WARMUP_MOVES);
+        // reading the counter may allocate by itself
+        final long start = allocatedBytes();
+        final long overhead = allocatedBytes() - start;
+        final long before = allocatedBytes();
+        moves(MOVES);
+        final long allocated = allocatedBytes() - before - overhead;
+        assertEquals("bytes allocated per move", 0.0, (double) allocated / MOVES, 0.0);
+    }
+
+}
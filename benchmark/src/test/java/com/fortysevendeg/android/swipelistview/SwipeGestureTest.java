@@ -0,0 +1,231 @@
+/*
+ * Copyright (C) 2013 47 Degrees, LLC
+ * http://47deg.com
+ * hello@47deg.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fortysevendeg.android.swipelistview;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SwipeGestureTest {
+
+    private static final int SLOP = 16;
+    private static final int VIEW_WIDTH = 720;
+    private static final long FRAME = 10;
+    private static final float DELTA = 0.01f;
+
+    private SwipeGesture gesture;
+    private long time;
+    private float x;
+    private float y;
+
+    @Before
+    public void setUp() {
+        gesture = new SwipeGesture(SLOP, 100, 8000, 0, 0);
+        gesture.setViewWidth(VIEW_WIDTH);
+    }
+
+    private void down(boolean open, boolean openedRight, boolean canSwipeLeft, boolean canSwipeRight) {
+        time = 0;
+        x = 0;
+        y = 0;
+        gesture.down(time, x, y, open, openedRight, canSwipeLeft, canSwipeRight);
+    }
+
+    private boolean move(float dx, float dy) {
+        time += FRAME;
+        x += dx;
+        y += dy;
+        return gesture.move(time, x, y);
+    }
+
+    private void drag(int steps, float dx, float dy) {
+        for (int i = 0; i < steps; i++) {
+            move(dx, dy);
+        }
+    }
+
+    private void up() {
+        up(0, 0);
+    }
+
+    private void up(float dx, float dy) {
+        time += FRAME;
+        x += dx;
+        y += dy;
+        gesture.up(time, x, y);
+    }
+
+    @Test
+    public void tapDoesNotSwipe() {
+        down(false, false, true, true);
+        assertFalse(move(SLOP / 2, 0));
+        assertTrue(gesture.isTracking());
+        assertFalse(gesture.isSwiping());
+        up();
+        assertFalse(gesture.isTracking());
+        assertFalse(gesture.isSwap());
+    }
+
+    @Test
+    public void swipeStartsPastSlop() {
+        down(false, false, true, true);
+        assertTrue(move(SLOP + 4, 0));
+        assertTrue(gesture.isSwiping());
+        assertTrue(gesture.isSwipingRight());
+        assertFalse(move(10, 0));
+        assertEquals(SLOP + 14, gesture.getTranslation(), DELTA);
+    }
+
+    @Test
+    public void verticalMovementDoesNotSwipe() {
+        down(false, false, true, true);
+        drag(5, 20, 60);
+        assertFalse(gesture.isSwiping());
+    }
+
+    @Test
+    public void disabledDirectionDoesNotSwipe() {
+        down(false, false, false, true);
+        drag(5, -20, 0);
+        assertFalse(gesture.isSwiping());
+        assertEquals(0, gesture.getTranslation(), DELTA);
+    }
+
+    @Test
+    public void dragPastHalfWidthSwaps() {
+        down(false, false, true, true);
+        drag(20, 20, 0);
+        up();
+        assertTrue(gesture.isSwap());
+        assertTrue(gesture.isSwapRight());
+    }
+
+    @Test
+    public void shortDragMovesBack() {
+        down(false, false, true, true);
+        drag(10, -20, 0);
+        up();
+        assertFalse(gesture.isSwap());
+    }
+
+    @Test
+    public void closedItemIgnoresFlings() {
+        down(false, false, true, true);
+        drag(4, 60, 0);
+        up(60, 0);
+        assertFalse(gesture.isSwap());
+    }
+
+    @Test
+    public void openItemTranslatesFromItsOffset() {
+        down(true, true, false, true);
+        drag(5, -10, 0);
+        assertTrue(gesture.isSwiping());
+        assertEquals(VIEW_WIDTH - 50, gesture.getTranslation(), DELTA);
+    }
+
+    @Test
+    public void flingClosesOpenItem() {
+        down(true, true, true, true);
+        drag(5, -30, 0);
+        up(-30, 0);
+        assertTrue(gesture.isSwap());
+        assertFalse(gesture.isSwapRight());
+        assertEquals(-3000, gesture.getReleaseVelocity(), 1);
+    }
+
+    @Test
+    public void flingTowardOpenSideKeepsItemOpen() {
+        down(true, false, true, true);
+        drag(5, -30, 0);
+        up(-30, 0);
+        assertFalse(gesture.isSwap());
+    }
+
+    @Test
+    public void releaseVelocityIsClamped() {
+        down(true, true, true, true);
+        drag(3, -200, 0);
+        up(-200, 0);
+        assertEquals(-8000, gesture.getReleaseVelocity(), DELTA);
+    }
+
+    @Test
+    public void swipeContinuesFromStartTranslation() {
+        down(false, false, true, true);
+        gesture.setStartTranslation(300);
+        drag(4, 20, 0);
+        assertEquals(380, gesture.getTranslation(), DELTA);
+        up();
+        assertTrue(gesture.isSwap());
+        assertTrue(gesture.isSwapRight());
+    }
+
+    @Test
+    public void predictionFollowsVelocity() {
+        down(false, false, true, true);
+        drag(5, 10, 0);
+        assertEquals(gesture.getTranslation() + 8, gesture.getPredictedTranslation(8, SLOP), DELTA);
+        assertEquals(gesture.getTranslation() + 4, gesture.getPredictedTranslation(8, 4), DELTA);
+    }
+
+    @Test
+    public void predictionDoesNotCrossClosedPosition() {
+        down(false, false, true, true);
+        move(40, 0);
+        drag(3, -12, 0);
+        assertEquals(4, gesture.getTranslation(), DELTA);
+        assertEquals(4, gesture.getPredictedTranslation(100, 100), DELTA);
+    }
+
+    @Test
+    public void settleDurationDependsOnDistance() {
+        down(false, false, true, true);
+        up();
+        assertEquals(0, gesture.getSettleDuration(0.5f, 250));
+        assertEquals(250, gesture.getSettleDuration(VIEW_WIDTH, 250));
+        assertEquals(125, gesture.getSettleDuration(-VIEW_WIDTH / 4, 250));
+    }
+
+    @Test
+    public void settleFlingIsShorter() {
+        down(true, true, true, true);
+        drag(5, -60, 0);
+        up(-60, 0);
+        assertTrue(gesture.isSettleFling(-200));
+        assertFalse(gesture.isSettleFling(200));
+        assertEquals(66, gesture.getSettleDuration(-200, 250), 1);
+        assertEquals(131, gesture.getSettleDuration(200, 250), 1);
+    }
+
+    @Test
+    public void cancelForgetsTheTouch() {
+        down(false, false, true, true);
+        drag(20, 20, 0);
+        gesture.cancel();
+        assertFalse(gesture.isTracking());
+        assertFalse(gesture.isSwiping());
+        assertFalse(gesture.isSwap());
+        assertEquals(0, gesture.getReleaseVelocity(), DELTA);
+    }
+
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2013 47 Degrees, LLC
+ * http://47deg.com
+ * hello@47deg.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fortysevendeg.android.swipelistview;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class VelocityEstimatorTest {
+
+    private static final float DELTA = 0.5f;
+
+    private VelocityEstimator estimator;
+
+    @Before
+    public void setUp() {
+        estimator = new VelocityEstimator();
+    }
+
+    @Test
+    public void noVelocityWithOneSample() {
+        estimator.addSample(0, 10, 10);
+        estimator.computeVelocity();
+        assertEquals(0, estimator.getXVelocity(), DELTA);
+        assertEquals(0, estimator.getYVelocity(), DELTA);
+    }
+
+    @Test
+    public void constantVelocity() {
+        for (int time = 0; time <= 80; time += 10) {
+            estimator.addSample(time, 2 * time, -time / 2f);
+        }
+        estimator.computeVelocity();
+        assertEquals(2000, estimator.getXVelocity(), DELTA);
+        assertEquals(-500, estimator.getYVelocity(), DELTA);
+    }
+
+    @Test
+    public void samplesOutOfHorizonAreIgnored() {
+        for (int time = 0; time < 1000; time += 10) {
+            estimator.addSample(time, 0, 0);
+        }
+        estimator.addSample(1200, 0, 0);
+        estimator.addSample(1210, 30, 0);
+        estimator.computeVelocity();
+        assertEquals(3000, estimator.getXVelocity(), DELTA);
+    }
+
+    @Test
+    public void historyWrapsAround() {
+        for (int time = 0; time <= 500; time += 5) {
+            estimator.addSample(time, time < 400 ? 0 : time, 0);
+        }
+        estimator.computeVelocity();
+        assertEquals(1000, estimator.getXVelocity(), DELTA);
+    }
+
+    @Test
+    public void clearForgetsSamples() {
+        estimator.addSample(0, 0, 0);
+        estimator.addSample(10, 10, 10);
+        estimator.computeVelocity();
+        estimator.clear();
+        estimator.computeVelocity();
+        assertEquals(0, estimator.getXVelocity(), DELTA);
+        estimator.addSample(20, 20, 20);
+        estimator.computeVelocity();
+        assertEquals(0, estimator.getXVelocity(), DELTA);
+    }
+
+}
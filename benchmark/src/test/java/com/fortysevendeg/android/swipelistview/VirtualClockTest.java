@@ -0,0 +1,149 @@
+/*
+ * Copyright (C) 2013 47 Degrees, LLC
+ * http://47deg.com
+ * hello@47deg.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fortysevendeg.android.swipelistview;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class VirtualClockTest {
+
+    private static final float DELTA = 0.0001f;
+
+    private VirtualClock clock;
+
+    @Before
+    public void setUp() {
+        clock = new VirtualClock();
+    }
+
+    @Test
+    public void nothingRunsUntilAdvanced() {
+        RecordingListener listener = new RecordingListener();
+        clock.start(100, listener);
+        assertTrue(listener.frames.isEmpty());
+        assertEquals(1, clock.getRunningCount());
+    }
+
+    @Test
+    public void framesFollowTheClock() {
+        RecordingListener listener = new RecordingListener();
+        VirtualClock.Timer timer = clock.start(100, listener);
+        clock.advance(25);
+        clock.advance(25);
+        assertEquals(2, listener.frames.size());
+        assertEquals(0.25f, listener.frames.get(0), DELTA);
+        assertEquals(0.5f, listener.frames.get(1), DELTA);
+        assertFalse(timer.isEnded());
+        assertEquals(50, clock.getTime());
+    }
+
+    @Test
+    public void endsOnceAtItsDuration() {
+        RecordingListener listener = new RecordingListener();
+        VirtualClock.Timer timer = clock.start(100, listener);
+        clock.advance(60);
+        clock.advance(60);
+        clock.advance(60);
+        assertEquals(2, listener.frames.size());
+        assertEquals(1f, listener.frames.get(1), DELTA);
+        assertEquals(1, listener.ends);
+        assertFalse(listener.cancelled);
+        assertTrue(timer.isEnded());
+        assertEquals(0, clock.getRunningCount());
+    }
+
+    @Test
+    public void zeroDurationEndsOnFirstFrame() {
+        RecordingListener listener = new RecordingListener();
+        clock.start(0, listener);
+        clock.advance(16);
+        assertEquals(1f, listener.frames.get(0), DELTA);
+        assertEquals(1, listener.ends);
+    }
+
+    @Test
+    public void cancelStopsWhereItIs() {
+        RecordingListener listener = new RecordingListener();
+        VirtualClock.Timer timer = clock.start(100, listener);
+        clock.advance(40);
+        timer.cancel();
+        timer.cancel();
+        clock.advance(40);
+        assertEquals(1, listener.frames.size());
+        assertEquals(1, listener.ends);
+        assertTrue(listener.cancelled);
+        assertEquals(0, clock.getRunningCount());
+    }
+
+    @Test
+    public void animationStartedWhileAdvancingBeginsOnNextAdvance() {
+        final RecordingListener second = new RecordingListener();
+        clock.start(10, new RecordingListener() {
+            @Override
+            public void onEnd(boolean cancelled) {
+                super.onEnd(cancelled);
+                clock.start(10, second);
+            }
+        });
+        clock.advance(10);
+        assertTrue(second.frames.isEmpty());
+        clock.advance(5);
+        assertEquals(0.5f, second.frames.get(0), DELTA);
+    }
+
+    @Test
+    public void finishRunsEveryAnimation() {
+        RecordingListener first = new RecordingListener();
+        RecordingListener second = new RecordingListener();
+        clock.start(100, first);
+        clock.start(250, second);
+        clock.finish(16);
+        assertEquals(1, first.ends);
+        assertEquals(1, second.ends);
+        assertEquals(256, clock.getTime());
+        assertEquals(16, second.frames.size());
+    }
+
+    private static class RecordingListener implements VirtualClock.FrameListener {
+
+        final List<Float> frames = new ArrayList<Float>();
+        int ends;
+        boolean cancelled;
+
+        @Override
+        public void onFrame(float input) {
+            frames.add(input);
+        }
+
+        @Override
+        public void onEnd(boolean cancelled) {
+            ends++;
+            this.cancelled = cancelled;
+        }
+
+    }
+
+}
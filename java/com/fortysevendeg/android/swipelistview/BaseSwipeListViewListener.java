@@ -9,6 +9,13 @@ public class BaseSwipeListViewListener implements SwipeListViewListener {
     public void onClosed(int position, boolean fromRight) {
     }
 
+    @Override
+    public void onClosed(int[] positions, boolean[] fromRight) {
+        for (int i = 0; i < positions.length; i++) {
+            onClosed(positions[i], fromRight[i]);
+        }
+    }
+
     @Override
     public void onListChanged() {
     }
@@ -33,11 +40,22 @@ public class BaseSwipeListViewListener implements SwipeListViewListener {
     public void onClickBackView(int position) {
     }
 
+    @Override
+    public void onChecked(int position, boolean checked) {
+    }
+
     @Override
     public void onDismiss(int position) {
 
     }
 
+    @Override
+    public void onDismiss(int[] reverseSortedPositions) {
+        for (int position : reverseSortedPositions) {
+            onDismiss(position);
+        }
+    }
+
     @Override
     public int onChangeSwipeMode(int position) {
         return SwipeListView.SWIPE_MODE_DEFAULT;
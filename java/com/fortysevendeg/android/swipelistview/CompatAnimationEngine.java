@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2013 47 Degrees, LLC
+ * http://47deg.com
+ * hello@47deg.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fortysevendeg.android.swipelistview;
+
+import android.view.View;
+import android.view.animation.Interpolator;
+
+import com.nineoldandroids.animation.Animator;
+import com.nineoldandroids.animation.AnimatorListenerAdapter;
+import com.nineoldandroids.animation.AnimatorSet;
+import com.nineoldandroids.animation.ObjectAnimator;
+import com.nineoldandroids.animation.ValueAnimator;
+
+import static com.nineoldandroids.view.ViewHelper.getAlpha;
+import static com.nineoldandroids.view.ViewHelper.getTranslationX;
+
+/**
+ * Animation engine based on nineoldandroids, available on every version
+ */
+public class CompatAnimationEngine implements SwipeAnimationEngine {
+
+    @Override
+    public Animation animate(View view, float translationX, float alpha, long duration, Interpolator interpolator, AnimationListener listener) {
+        final AnimatorSet set = new AnimatorSet();
+        if (Float.isNaN(translationX)) {
+            set.play(ObjectAnimator.ofFloat(view, "alpha", getAlpha(view), alpha));
+        } else if (Float.isNaN(alpha)) {
+            set.play(ObjectAnimator.ofFloat(view, "translationX", getTranslationX(view), translationX));
+        } else {
+            set.playTogether(ObjectAnimator.ofFloat(view, "translationX", getTranslationX(view), translationX),
+                    ObjectAnimator.ofFloat(view, "alpha", getAlpha(view), alpha));
+        }
+        return start(set, duration, interpolator, listener);
+    }
+
+    @Override
+    public Animation animate(long duration, Interpolator interpolator, final AnimationListener listener) {
+        final ValueAnimator animator = ValueAnimator.ofFloat(0f, 1f);
+        animator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
+            @Override
+            public void onAnimationUpdate(ValueAnimator valueAnimator) {
+                listener.onAnimationUpdate(valueAnimator.getAnimatedFraction());
+            }
+        });
+        return start(animator, duration, interpolator, listener);
+    }
+
+    private Animation start(final Animator animator, long duration, Interpolator interpolator, final AnimationListener listener) {
+        animator.setDuration(duration);
+        if (interpolator != null) {
+            animator.setInterpolator(interpolator);
+        }
+        if (listener != null) {
+            animator.addListener(new AnimatorListenerAdapter() {
+                private boolean cancelled;
+
+                @Override
+                public void onAnimationCancel(Animator animation) {
+                    cancelled = true;
+                }
+
+                @Override
+                public void onAnimationEnd(Animator animation) {
+                    listener.onAnimationEnd(cancelled);
+                }
+            });
+        }
+        animator.start();
+        return new Animation() {
+            @Override
+            public void cancel() {
+                animator.cancel();
+            }
+        };
+    }
+
+}
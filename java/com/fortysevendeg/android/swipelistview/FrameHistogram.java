@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2013 47 Degrees, LLC
+ * http://47deg.com
+ * hello@47deg.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fortysevendeg.android.swipelistview;
+
+/**
+ * Histogram of durations in milliseconds with fixed buckets. Recording a value does not allocate.
+ */
+public class FrameHistogram {
+
+    /**
+     * Upper bound of each bucket in milliseconds, the last bucket holds everything above
+     */
+    private static final int[] BUCKET_LIMITS = {8, 16, 24, 33, 50, 66, 100, 150, 250, Integer.MAX_VALUE};
+
+    private final int[] counts = new int[BUCKET_LIMITS.length];
+    private int total;
+
+    /**
+     * Adds a value
+     *
+     * @param millis duration in milliseconds
+     */
+    void record(long millis) {
+        int bucket = 0;
+        while (millis > BUCKET_LIMITS[bucket]) {
+            bucket++;
+        }
+        counts[bucket]++;
+        total++;
+    }
+
+    /**
+     * @return number of buckets
+     */
+    public int getBucketCount() {
+        return counts.length;
+    }
+
+    /**
+     * @param bucket bucket index
+     * @return upper bound of the bucket in milliseconds, Integer.MAX_VALUE for the last one
+     */
+    public int getBucketLimit(int bucket) {
+        return BUCKET_LIMITS[bucket];
+    }
+
+    /**
+     * @param bucket bucket index
+     * @return values recorded in the bucket
+     */
+    public int getCount(int bucket) {
+        return counts[bucket];
+    }
+
+    /**
+     * @return values recorded in all buckets
+     */
+    public int getTotalCount() {
+        return total;
+    }
+
+    /**
+     * Forgets all values
+     */
+    public void reset() {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = 0;
+        }
+        total = 0;
+    }
+
+}
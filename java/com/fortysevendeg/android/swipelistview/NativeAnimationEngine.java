@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2013 47 Degrees, LLC
+ * http://47deg.com
+ * hello@47deg.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fortysevendeg.android.swipelistview;
+
+import android.animation.Animator;
+import android.animation.AnimatorListenerAdapter;
+import android.animation.ValueAnimator;
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.view.View;
+import android.view.ViewPropertyAnimator;
+import android.view.animation.AccelerateDecelerateInterpolator;
+import android.view.animation.Interpolator;
+
+/**
+ * Animation engine based on the platform animators. Views are animated with ViewPropertyAnimator,
+ * without reflection, and fractions are read without boxing. Only available since Ice Cream
+ * Sandwich, ViewPropertyAnimator can't be started explicitly before
+ */
+@TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
+public class NativeAnimationEngine implements SwipeAnimationEngine {
+
+    /**
+     * ViewPropertyAnimator keeps its interpolator between animations, so it is always set
+     */
+    private final Interpolator defaultInterpolator = new AccelerateDecelerateInterpolator();
+
+    @Override
+    public Animation animate(View view, float translationX, float alpha, long duration, Interpolator interpolator, AnimationListener listener) {
+        final ViewPropertyAnimator animator = view.animate();
+        // the listener of a ViewPropertyAnimator is shared by all its animations, so any running
+        // one is finished before the listener is replaced
+        animator.cancel();
+        animator.setDuration(duration).setInterpolator(interpolator != null ? interpolator : defaultInterpolator);
+        if (!Float.isNaN(translationX)) {
+            animator.translationX(translationX);
+        }
+        if (!Float.isNaN(alpha)) {
+            animator.alpha(alpha);
+        }
+        animator.setListener(listener == null ? null : new EndListener(listener));
+        animator.start();
+        return new Animation() {
+            @Override
+            public void cancel() {
+                animator.cancel();
+            }
+        };
+    }
+
+    @Override
+    public Animation animate(long duration, Interpolator interpolator, final AnimationListener listener) {
+        final ValueAnimator animator = ValueAnimator.ofFloat(0f, 1f);
+        animator.setDuration(duration);
+        if (interpolator != null) {
+            animator.setInterpolator(interpolator);
+        }
+        animator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
+            @Override
+            public void onAnimationUpdate(ValueAnimator valueAnimator) {
+                listener.onAnimationUpdate(valueAnimator.getAnimatedFraction());
+            }
+        });
+        animator.addListener(new EndListener(listener));
+        animator.start();
+        return new Animation() {
+            @Override
+            public void cancel() {
+                animator.cancel();
+            }
+        };
+    }
+
+    /**
+     * Notifies the end of a single animation
+     */
+    private static class EndListener extends AnimatorListenerAdapter {
+
+        private final AnimationListener listener;
+        private boolean cancelled;
+        private boolean ended;
+
+        EndListener(AnimationListener listener) {
+            this.listener = listener;
+        }
+
+        @Override
+        public void onAnimationCancel(Animator animation) {
+            cancelled = true;
+        }
+
+        @Override
+        public void onAnimationEnd(Animator animation) {
+            if (!ended) {
+                ended = true;
+                listener.onAnimationEnd(cancelled);
+            }
+        }
+
+    }
+
+}
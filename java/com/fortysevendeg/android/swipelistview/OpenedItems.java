@@ -0,0 +1,233 @@
+/*
+ * Copyright (C) 2013 47 Degrees, LLC
+ * http://47deg.com
+ * hello@47deg.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fortysevendeg.android.swipelistview;
+
+import android.widget.ListAdapter;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Holds which list items are open and the direction they were swiped to, indexed by position.
+ * A pair of bitsets is used so queries are O(1) and no object is kept per item.
+ * <p/>
+ * When the adapter has stable ids the ids of the opened items are kept too, sorted in a
+ * primitive array, so positions can be resolved again after the adapter changes.
+ */
+class OpenedItems {
+
+    private final BitSet opened = new BitSet();
+    private final BitSet swipedRight = new BitSet();
+
+    private ListAdapter adapter;
+    private long[] ids = new long[4];
+    private boolean[] idsSwipedRight = new boolean[4];
+    private int idCount;
+    private final BitSet resolvedIds = new BitSet();
+
+    /**
+     * @param position Position of list
+     * @return true if the item is open
+     */
+    boolean isOpen(int position) {
+        return position >= 0 && opened.get(position);
+    }
+
+    /**
+     * @param position Position of list
+     * @return true if the item is open and it was swiped to the right
+     */
+    boolean wasSwipedRight(int position) {
+        return position >= 0 && opened.get(position) && swipedRight.get(position);
+    }
+
+    /**
+     * Marks an item as open
+     *
+     * @param position Position of list
+     * @param right    If it was swiped to the right
+     */
+    void open(int position, boolean right) {
+        opened.set(position);
+        swipedRight.set(position, right);
+        if (hasStableIds()) {
+            putId(adapter.getItemId(position), right);
+        }
+    }
+
+    /**
+     * Marks an item as closed
+     *
+     * @param position Position of list
+     */
+    void close(int position) {
+        if (position >= 0) {
+            if (hasStableIds() && opened.get(position) && position < adapter.getCount()) {
+                removeId(adapter.getItemId(position));
+            }
+            opened.clear(position);
+            swipedRight.clear(position);
+        }
+    }
+
+    /**
+     * Forgets an item removed from the adapter. Without stable ids, the opened items after it
+     * move one position up.
+     *
+     * @param position Position of list
+     */
+    void remove(int position) {
+        close(position);
+        if (hasStableIds()) {
+            return;
+        }
+        for (int next = opened.nextSetBit(position + 1); next >= 0; next = opened.nextSetBit(next + 1)) {
+            boolean right = swipedRight.get(next);
+            opened.clear(next);
+            swipedRight.clear(next);
+            opened.set(next - 1);
+            swipedRight.set(next - 1, right);
+        }
+    }
+
+    /**
+     * @return true if opened items are tracked by id
+     */
+    boolean hasStableIds() {
+        return adapter != null && adapter.hasStableIds();
+    }
+
+    /**
+     * @return true if no item is open
+     */
+    boolean isEmpty() {
+        return opened.isEmpty();
+    }
+
+    /**
+     * @return number of opened items
+     */
+    int size() {
+        return opened.cardinality();
+    }
+
+    /**
+     * First opened position starting at the given one
+     *
+     * @param from First position to check
+     * @return opened position or -1 if there are no more opened items
+     */
+    int nextOpen(int from) {
+        return opened.nextSetBit(from);
+    }
+
+    /**
+     * Updates the positions after the adapter changed. With stable ids the opened ids are
+     * searched in a single pass over the adapter, ids that are not found anymore are forgotten.
+     * Otherwise positions are kept and the ones beyond the end of the adapter are dropped.
+     *
+     * @param adapter Adapter of the list
+     */
+    void update(ListAdapter adapter) {
+        this.adapter = adapter;
+        if (adapter == null) {
+            clear();
+            return;
+        }
+        if (!adapter.hasStableIds()) {
+            idCount = 0;
+            retain(adapter.getCount());
+            return;
+        }
+        opened.clear();
+        swipedRight.clear();
+        resolvedIds.clear();
+        final int count = adapter.getCount();
+        for (int position = 0, pending = idCount; position < count && pending > 0; position++) {
+            int index = Arrays.binarySearch(ids, 0, idCount, adapter.getItemId(position));
+            if (index >= 0 && !resolvedIds.get(index)) {
+                resolvedIds.set(index);
+                opened.set(position);
+                swipedRight.set(position, idsSwipedRight[index]);
+                pending--;
+            }
+        }
+        for (int index = idCount - 1; index >= 0; index--) {
+            if (!resolvedIds.get(index)) {
+                removeIdAt(index);
+            }
+        }
+    }
+
+    /**
+     * Forgets the items that are beyond the end of the adapter
+     *
+     * @param count Number of items in the adapter
+     */
+    private void retain(int count) {
+        int length = opened.length();
+        if (count < length) {
+            opened.clear(count, length);
+            swipedRight.clear(count, length);
+        }
+    }
+
+    /**
+     * Closes all items
+     */
+    void clear() {
+        opened.clear();
+        swipedRight.clear();
+        idCount = 0;
+    }
+
+    private void putId(long id, boolean right) {
+        int index = Arrays.binarySearch(ids, 0, idCount, id);
+        if (index < 0) {
+            index = -index - 1;
+            if (idCount == ids.length) {
+                long[] newIds = new long[idCount * 2];
+                boolean[] newIdsSwipedRight = new boolean[idCount * 2];
+                System.arraycopy(ids, 0, newIds, 0, idCount);
+                System.arraycopy(idsSwipedRight, 0, newIdsSwipedRight, 0, idCount);
+                ids = newIds;
+                idsSwipedRight = newIdsSwipedRight;
+            }
+            System.arraycopy(ids, index, ids, index + 1, idCount - index);
+            System.arraycopy(idsSwipedRight, index, idsSwipedRight, index + 1, idCount - index);
+            ids[index] = id;
+            idCount++;
+        }
+        idsSwipedRight[index] = right;
+    }
+
+    private void removeId(long id) {
+        int index = Arrays.binarySearch(ids, 0, idCount, id);
+        if (index >= 0) {
+            removeIdAt(index);
+        }
+    }
+
+    private void removeIdAt(int index) {
+        System.arraycopy(ids, index + 1, ids, index, idCount - index - 1);
+        System.arraycopy(idsSwipedRight, index + 1, idsSwipedRight, index, idCount - index - 1);
+        idCount--;
+    }
+
+}
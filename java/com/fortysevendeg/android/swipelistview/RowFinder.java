@@ -0,0 +1,71 @@
+/*
+ * Copyright (C) 2013 47 Degrees, LLC
+ * http://47deg.com
+ * hello@47deg.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fortysevendeg.android.swipelistview;
+
+/**
+ * Finds the row under a point. Rows of the list are laid out from top to bottom, so a binary
+ * search over their bottoms finds the candidate row. It has no dependencies on the Android
+ * framework, SwipeListViewTouchListener reads the rows from the children of the list.
+ */
+class RowFinder {
+
+    /**
+     * Rows laid out from top to bottom
+     */
+    interface Rows {
+
+        /**
+         * @return number of rows
+         */
+        int getRowCount();
+
+        /**
+         * @param index index of the row
+         * @return bottom of the row
+         */
+        int getRowBottom(int index);
+
+    }
+
+    private RowFinder() {
+    }
+
+    /**
+     * Finds the first row whose bottom is below the given coordinate, or the last row if there
+     * is none. Callers still check that the point is inside that row
+     *
+     * @param rows rows to search
+     * @param y    Y coordinate
+     * @return index of the candidate row or -1 if there are no rows
+     */
+    static int find(Rows rows, int y) {
+        int low = 0;
+        int high = rows.getRowCount() - 1;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (rows.getRowBottom(middle) <= y) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return high < 0 ? -1 : low;
+    }
+
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2013 47 Degrees, LLC
+ * http://47deg.com
+ * hello@47deg.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fortysevendeg.android.swipelistview;
+
+import android.view.View;
+import android.view.animation.Interpolator;
+
+/**
+ * Runs the animations of the SwipeListView. Callers cancel a running animation before starting
+ * another one on the same view
+ */
+public interface SwipeAnimationEngine {
+
+    /**
+     * Receives the progress of an animation
+     */
+    interface AnimationListener {
+
+        /**
+         * Called on every frame of fraction animations, not for view animations
+         *
+         * @param fraction interpolated fraction, from 0 to 1
+         */
+        void onAnimationUpdate(float fraction);
+
+        /**
+         * Called once when the animation finishes or is cancelled
+         *
+         * @param cancelled true if it was cancelled
+         */
+        void onAnimationEnd(boolean cancelled);
+
+    }
+
+    /**
+     * Running animation
+     */
+    interface Animation {
+
+        /**
+         * Stops the animation where it is, its listener is notified
+         */
+        void cancel();
+
+    }
+
+    /**
+     * Animates the translation and the alpha of a view from their current values
+     *
+     * @param view         animated view
+     * @param translationX final translationX, NaN to keep it
+     * @param alpha        final alpha, NaN to keep it
+     * @param duration     duration in milliseconds
+     * @param interpolator interpolator, null for the default one
+     * @param listener     listener, can be null
+     * @return running animation
+     */
+    Animation animate(View view, float translationX, float alpha, long duration, Interpolator interpolator, AnimationListener listener);
+
+    /**
+     * Animates a fraction from 0 to 1, for animations that change several views every frame
+     *
+     * @param duration     duration in milliseconds
+     * @param interpolator interpolator, null for the default one
+     * @param listener     listener
+     * @return running animation
+     */
+    Animation animate(long duration, Interpolator interpolator, AnimationListener listener);
+
+}
@@ -0,0 +1,329 @@
+/*
+ * Copyright (C) 2013 47 Degrees, LLC
+ * http://47deg.com
+ * hello@47deg.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fortysevendeg.android.swipelistview;
+
+/**
+ * Decides when a touch on an item becomes a swipe and how it ends. It only works with primitive
+ * samples (time, x, y) and has no dependencies on the Android framework, so it can be measured
+ * and tested on a plain JVM. SwipeListViewTouchListener feeds it from MotionEvents.
+ */
+public class SwipeGesture {
+
+    private final int slop;
+    private final int minFlingVelocity;
+    private final int maxFlingVelocity;
+    private final float leftOffset;
+    private final float rightOffset;
+    private int viewWidth = 1; // 1 and not 0 to prevent dividing by zero
+
+    private final VelocityEstimator velocityEstimator = new VelocityEstimator();
+
+    private boolean tracking;
+    private boolean swiping;
+    private boolean swipingRight;
+    private boolean open;
+    private boolean openedRight;
+    private boolean canSwipeLeft;
+    private boolean canSwipeRight;
+    private float downX;
+    private float deltaX;
+    private float startOffset;
+
+    private boolean swap;
+    private boolean swapRight;
+    private float releaseVelocity;
+
+    /**
+     * Constructor
+     *
+     * @param slop             distance to move before a swipe starts
+     * @param minFlingVelocity minimum velocity for a fling, in pixels per second
+     * @param maxFlingVelocity maximum velocity for a fling, in pixels per second
+     * @param leftOffset       visible part of the front view when opened to the left
+     * @param rightOffset      visible part of the front view when opened to the right
+     */
+    public SwipeGesture(int slop, int minFlingVelocity, int maxFlingVelocity, float leftOffset, float rightOffset) {
+        this.slop = slop;
+        this.minFlingVelocity = minFlingVelocity;
+        this.maxFlingVelocity = maxFlingVelocity;
+        this.leftOffset = leftOffset;
+        this.rightOffset = rightOffset;
+    }
+
+    /**
+     * @param viewWidth width of the items
+     */
+    public void setViewWidth(int viewWidth) {
+        this.viewWidth = viewWidth;
+    }
+
+    /**
+     * Starts tracking a touch on an item
+     *
+     * @param time          time in milliseconds
+     * @param x             X coordinate
+     * @param y             Y coordinate
+     * @param open          if the item is open
+     * @param openedRight   if the item was opened to the right
+     * @param canSwipeLeft  if a closed item can be swiped to the left
+     * @param canSwipeRight if a closed item can be swiped to the right
+     */
+    public void down(long time, float x, float y, boolean open, boolean openedRight, boolean canSwipeLeft, boolean canSwipeRight) {
+        velocityEstimator.clear();
+        velocityEstimator.addSample(time, x, y);
+        this.open = open;
+        this.openedRight = openedRight;
+        this.canSwipeLeft = canSwipeLeft;
+        this.canSwipeRight = canSwipeRight;
+        downX = x;
+        deltaX = 0;
+        startOffset = 0;
+        tracking = true;
+        swiping = false;
+        swap = false;
+        swapRight = false;
+        releaseVelocity = 0;
+    }
+
+    /**
+     * Sets where the front view is when the touch starts, if it is not at rest because an
+     * animation was interrupted. The swipe continues from there
+     *
+     * @param translation current translation of the front view
+     */
+    public void setStartTranslation(float translation) {
+        startOffset = translation - getRestTranslation();
+    }
+
+    /**
+     * Adds a sample without making any decision, used for samples batched in a move event
+     *
+     * @param time time in milliseconds
+     * @param x    X coordinate
+     * @param y    Y coordinate
+     */
+    public void addSample(long time, float x, float y) {
+        velocityEstimator.addSample(time, x, y);
+    }
+
+    /**
+     * Moves the touch
+     *
+     * @param time time in milliseconds
+     * @param x    X coordinate
+     * @param y    Y coordinate
+     * @return true if the swipe starts with this sample
+     */
+    public boolean move(long time, float x, float y) {
+        velocityEstimator.addSample(time, x, y);
+        deltaX = x - downX;
+        // velocity is only needed to decide whether a swipe starts, not on every drag frame
+        if (!swiping && Math.abs(deltaX) > slop && isSwipeEnabled(deltaX > 0) && isHorizontalMovement()) {
+            swiping = true;
+            swipingRight = deltaX > 0;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Ends the touch and decides if the item changes its state
+     *
+     * @param time time in milliseconds
+     * @param x    X coordinate
+     * @param y    Y coordinate
+     */
+    public void up(long time, float x, float y) {
+        velocityEstimator.addSample(time, x, y);
+        velocityEstimator.computeVelocity();
+        deltaX = x - downX;
+        tracking = false;
+        swiping = false;
+        releaseVelocity = Math.max(-maxFlingVelocity, Math.min(maxFlingVelocity, velocityEstimator.getXVelocity()));
+
+        float velocityX = Math.abs(velocityEstimator.getXVelocity());
+        if (!open) velocityX = 0;
+        float velocityY = Math.abs(velocityEstimator.getYVelocity());
+
+        swap = false;
+        swapRight = false;
+        if (minFlingVelocity <= velocityX && velocityX <= maxFlingVelocity && velocityY < velocityX) {
+            swapRight = velocityEstimator.getXVelocity() > 0;
+            if (open && openedRight && swapRight) {
+                swap = false;
+            } else if (open && !openedRight && !swapRight) {
+                swap = false; //here as well
+            } else {
+                swap = true;
+            }
+        } else if (Math.abs(startOffset + deltaX) > viewWidth / 2) {
+            swap = true;
+            swapRight = startOffset + deltaX > 0;
+        }
+        if (swap && !isSwipeEnabled(swapRight)) {
+            swap = false;
+        }
+    }
+
+    /**
+     * Stops tracking the touch without any decision
+     */
+    public void cancel() {
+        tracking = false;
+        swiping = false;
+        swap = false;
+        releaseVelocity = 0;
+    }
+
+    /**
+     * @return true between down and up or cancel
+     */
+    public boolean isTracking() {
+        return tracking;
+    }
+
+    /**
+     * @return true once the touch became a swipe
+     */
+    public boolean isSwiping() {
+        return swiping;
+    }
+
+    /**
+     * @return true if the swipe started toward the right
+     */
+    public boolean isSwipingRight() {
+        return swipingRight;
+    }
+
+    /**
+     * @return translation of the front view for the last sample
+     */
+    public float getTranslation() {
+        final float translation = startOffset + deltaX;
+        if (open) {
+            return translation + getRestTranslation();
+        }
+        return isSwipeEnabled(translation > 0) ? translation : 0;
+    }
+
+    /**
+     * @return translation of the front view when the item is not moving
+     */
+    private float getRestTranslation() {
+        if (!open) {
+            return 0;
+        }
+        return openedRight ? viewWidth - rightOffset : -viewWidth + leftOffset;
+    }
+
+    /**
+     * Extrapolates the translation of the front view with the current velocity, so it is drawn
+     * closer to the finger. A closed item is never predicted past its closed position
+     *
+     * @param ahead       time to predict, in milliseconds
+     * @param maxDistance maximum distance added to the translation
+     * @return predicted translation of the front view
+     */
+    public float getPredictedTranslation(long ahead, float maxDistance) {
+        final float translation = getTranslation();
+        velocityEstimator.computeVelocity();
+        final float prediction = Math.max(-maxDistance, Math.min(maxDistance, velocityEstimator.getXVelocity() * ahead / 1000f));
+        final float predicted = translation + prediction;
+        if (!open && predicted * translation <= 0) {
+            return translation;
+        }
+        return predicted;
+    }
+
+    /**
+     * @return true if the item changes its state after up
+     */
+    public boolean isSwap() {
+        return swap;
+    }
+
+    /**
+     * @return if swap is true, tells if movement is toward right or left
+     */
+    public boolean isSwapRight() {
+        return swapRight;
+    }
+
+    /**
+     * @return horizontal velocity when the touch was released, in pixels per second
+     */
+    public float getReleaseVelocity() {
+        return releaseVelocity;
+    }
+
+    /**
+     * Tells if the item is already moving toward the target of the settle animation fast enough
+     * to keep that velocity, decelerating to the target
+     *
+     * @param distance remaining distance to the target, signed
+     * @return true if the settle animation should start at the release velocity
+     */
+    public boolean isSettleFling(float distance) {
+        return distance * releaseVelocity > 0 && Math.abs(releaseVelocity) >= minFlingVelocity;
+    }
+
+    /**
+     * Duration of the animation that moves the item to its final position after up. A fling
+     * toward the target continues at the release velocity, a decelerating curve starts at twice
+     * its average speed. Otherwise the duration is shorter for shorter distances, with a square
+     * root curve so that short moves do not snap.
+     *
+     * @param distance    remaining distance to the target, signed
+     * @param maxDuration duration to move the whole width of the item, in milliseconds
+     * @return duration in milliseconds
+     */
+    public long getSettleDuration(float distance, long maxDuration) {
+        final float absDistance = Math.abs(distance);
+        if (absDistance < 1) {
+            return 0;
+        }
+        long duration = (long) (maxDuration * Math.sqrt(Math.min(1f, absDistance / viewWidth)));
+        if (isSettleFling(distance)) {
+            duration = Math.min(duration, (long) (2000 * absDistance / Math.abs(releaseVelocity)));
+        }
+        return duration;
+    }
+
+    /**
+     * An opened item can always be closed, a closed one depends on the swipe mode
+     *
+     * @param right true to swipe to the right
+     * @return true if the item can be swiped in that direction
+     */
+    private boolean isSwipeEnabled(boolean right) {
+        return open ? canSwipeLeft || canSwipeRight : right ? canSwipeRight : canSwipeLeft;
+    }
+
+    /**
+     * Computes the current velocity and checks if the gesture is mostly horizontal
+     *
+     * @return true if horizontal velocity is greater than vertical velocity
+     */
+    private boolean isHorizontalMovement() {
+        velocityEstimator.computeVelocity();
+        return Math.abs(velocityEstimator.getYVelocity()) < Math.abs(velocityEstimator.getXVelocity());
+    }
+
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2013 47 Degrees, LLC
+ * http://47deg.com
+ * hello@47deg.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fortysevendeg.android.swipelistview;
+
+import android.view.View;
+import android.view.ViewStub;
+
+/**
+ * Front and back views resolved once for a row of the SwipeListView. The back view can be a
+ * ViewStub, it is inflated the first time the row is revealed and the row keeps it afterwards
+ */
+class SwipeItemViews {
+
+    /**
+     * Row view, direct child of the list
+     */
+    final View parent;
+
+    /**
+     * Front view of the row
+     */
+    final View front;
+
+    /**
+     * Back view of the row, a ViewStub until it is revealed if the row declares it so
+     */
+    View back;
+
+    /**
+     * Generation of the list when the views were resolved
+     */
+    final int generation;
+
+    /**
+     * Constructor
+     *
+     * @param parent         Row view
+     * @param swipeFrontView front view Identifier
+     * @param swipeBackView  back view Identifier
+     * @param generation     generation of the list
+     */
+    SwipeItemViews(View parent, int swipeFrontView, int swipeBackView, int generation) {
+        this.parent = parent;
+        this.generation = generation;
+        this.front = parent.findViewById(swipeFrontView);
+        this.back = parent.findViewById(swipeBackView);
+    }
+
+    /**
+     * @return true if the back view is not a ViewStub waiting to be inflated
+     */
+    boolean isBackInflated() {
+        return !(back instanceof ViewStub);
+    }
+
+    /**
+     * Inflates the back view if it is still a ViewStub. The inflated view takes the id of the
+     * stub, so it is found again when the row is recycled
+     *
+     * @return back view
+     */
+    View inflateBack() {
+        if (back instanceof ViewStub) {
+            final ViewStub stub = (ViewStub) back;
+            stub.setInflatedId(stub.getId());
+            back = stub.inflate();
+        }
+        return back;
+    }
+
+}
@@ -19,17 +19,21 @@
 package com.fortysevendeg.android.swipelistview;
 
 import android.content.Context;
-import android.content.res.TypedArray;
 import android.database.DataSetObserver;
+import android.os.Build;
 import android.support.v4.view.MotionEventCompat;
+import android.support.v4.view.ViewCompat;
 import android.support.v4.view.ViewConfigurationCompat;
 import android.util.AttributeSet;
 import android.view.MotionEvent;
 import android.view.View;
 import android.view.ViewConfiguration;
+import android.view.WindowManager;
 import android.widget.ListAdapter;
 import android.widget.ListView;
 
+import java.util.Arrays;
+
 /**
  * ListView subclass that provides the swipe functionality
  */
@@ -40,6 +44,26 @@ public class SwipeListView extends ListView {
      */
     public final static int SWIPE_MODE_DEFAULT = -1;
 
+    /**
+     * Disables all swipes
+     */
+    public final static int SWIPE_MODE_NONE = 0;
+
+    /**
+     * Enables both left and right swipe
+     */
+    public final static int SWIPE_MODE_BOTH = 1;
+
+    /**
+     * Enables right swipe
+     */
+    public final static int SWIPE_MODE_RIGHT = 2;
+
+    /**
+     * Enables left swipe
+     */
+    public final static int SWIPE_MODE_LEFT = 3;
+
     /**
      * Binds the swipe gesture to reveal a view behind the row (Drawer style)
      */
@@ -60,6 +84,26 @@ public class SwipeListView extends ListView {
      */
     public final static int SWIPE_ACTION_NONE = 3;
 
+    /**
+     * Dismissed rows shrink their height until they disappear
+     */
+    public final static int SWIPE_DISMISS_ANIMATION_HEIGHT = 0;
+
+    /**
+     * Rows below the dismissed ones slide up over them, the list is laid out only when finished
+     */
+    public final static int SWIPE_DISMISS_ANIMATION_TRANSLATION = 1;
+
+    /**
+     * Default time in milliseconds before swipes are enabled again once the list stops scrolling
+     */
+    public final static int DEFAULT_SWIPE_SCROLL_COOLDOWN = 100;
+
+    /**
+     * Swipe mode not asked to the listener yet
+     */
+    private final static byte SWIPE_MODE_UNKNOWN = Byte.MIN_VALUE;
+
     /**
      * Indicates no movement
      */
@@ -89,11 +133,63 @@ public class SwipeListView extends ListView {
      */
     private BaseSwipeListViewListener swipeListViewListener;
 
+    /**
+     * Delivers some events out of the UI thread, null if all are synchronous
+     */
+    private SwipeListViewDispatcher dispatcher;
+
     /**
      * Internal touch listener
      */
     private SwipeListViewTouchListener touchListener;
 
+    /**
+     * Incremented when the resolved front and back views of the rows may be stale. Each row keeps
+     * its SwipeItemViews as a tag, so it goes away with the row
+     */
+    private int itemViewsGeneration;
+
+    /**
+     * Recycler listener set by the user
+     */
+    private RecyclerListener recyclerListener;
+
+    /**
+     * Frame statistics, null when disabled
+     */
+    private SwipeMetrics swipeMetrics;
+
+    /**
+     * If onMove is delivered at most once per frame
+     */
+    private boolean swipeCoalesceMove;
+
+    /**
+     * Latest onMove not delivered yet, INVALID_POSITION if none
+     */
+    private int pendingMovePosition = INVALID_POSITION;
+    private float pendingMoveX;
+
+    /**
+     * Delivers the latest onMove on the next animation frame
+     */
+    private final Runnable moveDispatcher = new Runnable() {
+        @Override
+        public void run() {
+            dispatchPendingMove();
+        }
+    };
+
+    /**
+     * Swipe modes returned by onChangeSwipeMode, indexed by position
+     */
+    private byte[] swipeModes = new byte[0];
+
+    /**
+     * Set when the adapter changed and rows need to match the opened items on next layout
+     */
+    private boolean itemsChanged;
+
     /**
      * If you create a View programmatically you need send back and front identifier
      *
@@ -131,10 +227,13 @@ public class SwipeListView extends ListView {
      */
     private void init(AttributeSet attrs) {
 
+        final SwipeListViewConfig config;
         if (attrs != null) {
-            TypedArray styled = getContext().obtainStyledAttributes(attrs, R.styleable.SwipeListView);
-            swipeFrontView = styled.getResourceId(R.styleable.SwipeListView_swipeFrontView, 0);
-            swipeBackView = styled.getResourceId(R.styleable.SwipeListView_swipeBackView, 0);
+            config = new SwipeListViewConfig(getContext(), attrs);
+            swipeFrontView = config.swipeFrontView;
+            swipeBackView = config.swipeBackView;
+        } else {
+            config = new SwipeListViewConfig(swipeFrontView, swipeBackView);
         }
 
         if (swipeFrontView == 0 || swipeBackView == 0) {
@@ -143,9 +242,26 @@ public class SwipeListView extends ListView {
 
         final ViewConfiguration configuration = ViewConfiguration.get(getContext());
         touchSlop = ViewConfigurationCompat.getScaledPagingTouchSlop(configuration);
-        touchListener = new SwipeListViewTouchListener(this, swipeFrontView, swipeBackView);
+        touchListener = new SwipeListViewTouchListener(this, config);
         setOnTouchListener(touchListener);
         setOnScrollListener(touchListener.makeScrollListener());
+        super.setRecyclerListener(new RecyclerListener() {
+            @Override
+            public void onMovedToScrapHeap(View view) {
+                view.setTag(R.id.swipelist_item_views, null);
+                if (recyclerListener != null) {
+                    recyclerListener.onMovedToScrapHeap(view);
+                }
+            }
+        });
+    }
+
+    /**
+     * @see android.widget.AbsListView#setRecyclerListener(android.widget.AbsListView.RecyclerListener)
+     */
+    @Override
+    public void setRecyclerListener(RecyclerListener listener) {
+        this.recyclerListener = listener;
     }
 
     /**
@@ -154,32 +270,192 @@ public class SwipeListView extends ListView {
     @Override
     public void setAdapter(ListAdapter adapter) {
         super.setAdapter(adapter);
+        itemViewsGeneration++;
+        invalidateSwipeModes();
         touchListener.resetItems();
         adapter.registerDataSetObserver(new DataSetObserver() {
             @Override
             public void onChanged() {
                 super.onChanged();
+                itemViewsGeneration++;
+                invalidateSwipeModes();
                 onListChanged();
                 touchListener.resetItems();
+                itemsChanged = true;
             }
 
         });
     }
 
+    /**
+     * @see android.widget.ListView#layoutChildren()
+     */
+    @Override
+    protected void layoutChildren() {
+        super.layoutChildren();
+        if (itemsChanged) {
+            itemsChanged = false;
+            touchListener.syncItemViews();
+        }
+        touchListener.syncBackViews();
+    }
+
     /**
      * Closes all open items, without requiring a touch event.
      */
     public void closeOpenedItems() {
+        closeAll();
+    }
+
+    /**
+     * Closes all open items with a single animation
+     */
+    public void closeAll() {
         touchListener.closeOpenItem();
     }
 
+    /**
+     * Sets if more than one item can be open at the same time
+     *
+     * @param swipeOpenMultiple true to allow many opened items
+     */
+    public void setSwipeOpenMultiple(boolean swipeOpenMultiple) {
+        touchListener.setSwipeOpenMultiple(swipeOpenMultiple);
+    }
+
+    /**
+     * Sets the time before swipes are enabled again once the list stops scrolling
+     *
+     * @param swipeScrollCooldown time in milliseconds, 0 to enable them as soon as the list stops
+     */
+    public void setSwipeScrollCooldown(long swipeScrollCooldown) {
+        touchListener.setSwipeScrollCooldown(swipeScrollCooldown);
+    }
+
+    /**
+     * Sets how dismissed rows disappear
+     *
+     * @param swipeDismissAnimation SWIPE_DISMISS_ANIMATION_HEIGHT or SWIPE_DISMISS_ANIMATION_TRANSLATION
+     */
+    public void setSwipeDismissAnimation(int swipeDismissAnimation) {
+        touchListener.setSwipeDismissAnimation(swipeDismissAnimation);
+    }
+
+    /**
+     * Sets if animated front and back views are rendered on hardware layers while swiping and
+     * animating. The layer type each view had is restored when it finishes. Enabled by default
+     *
+     * @param swipeHardwareLayers true to use hardware layers
+     */
+    public void setSwipeHardwareLayers(boolean swipeHardwareLayers) {
+        touchListener.setSwipeHardwareLayers(swipeHardwareLayers);
+    }
+
+    /**
+     * Sets if onMove is delivered at most once per frame with the latest offset, instead of once
+     * per touch event. Any pending onMove is delivered before the following open, close or
+     * dismiss callbacks
+     *
+     * @param swipeCoalesceMove true to coalesce onMove
+     */
+    public void setSwipeCoalesceMove(boolean swipeCoalesceMove) {
+        if (!swipeCoalesceMove) {
+            dispatchPendingMove();
+        }
+        this.swipeCoalesceMove = swipeCoalesceMove;
+    }
+
+    /**
+     * Sets if the drag uses every batched touch sample and draws the front view slightly ahead
+     * of the last one with the current velocity, reducing the lag behind the finger
+     *
+     * @param swipeLowLatency true to reduce the drag latency
+     */
+    public void setSwipeLowLatency(boolean swipeLowLatency) {
+        touchListener.setSwipeLowLatency(swipeLowLatency);
+    }
+
+    /**
+     * Sets if back views are made invisible while their row is closed, so they are not drawn
+     * under the front view. Enabled by default, disable it if front views are not opaque
+     *
+     * @param swipeHideBackViews true to hide covered back views
+     */
+    public void setSwipeHideBackViews(boolean swipeHideBackViews) {
+        touchListener.setSwipeHideBackViews(swipeHideBackViews);
+    }
+
+    /**
+     * Sets the engine that runs the animations. By default the platform animators are used since
+     * Ice Cream Sandwich, and nineoldandroids before
+     *
+     * @param animationEngine animation engine
+     */
+    public void setSwipeAnimationEngine(SwipeAnimationEngine animationEngine) {
+        touchListener.setSwipeAnimationEngine(animationEngine);
+    }
+
+    /**
+     * Enables the frame statistics of swipes and animations. They cost nothing while disabled,
+     * which is the default. Only available since Jelly Bean, ignored on older versions
+     *
+     * @param enabled true to record statistics
+     */
+    public void setSwipeMetricsEnabled(boolean enabled) {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.JELLY_BEAN || enabled == (swipeMetrics != null)) {
+            return;
+        }
+        if (enabled) {
+            WindowManager windowManager = (WindowManager) getContext().getSystemService(Context.WINDOW_SERVICE);
+            swipeMetrics = new SwipeMetrics(windowManager.getDefaultDisplay().getRefreshRate());
+        } else {
+            swipeMetrics.stop();
+            swipeMetrics = null;
+        }
+        touchListener.setSwipeMetrics(swipeMetrics);
+    }
+
+    /**
+     * Returns the frame statistics, to be read and reset by the application
+     *
+     * @return statistics, or null if they are not enabled
+     */
+    public SwipeMetrics getSwipeMetrics() {
+        return swipeMetrics;
+    }
+
     /**
      * Find the view which is in the given position
      */
 
     public View findViewByPosition(int position) {
-        final int realPosition = position - this.getFirstVisiblePosition();
-        return this.getChildAt(realPosition).findViewById(swipeFrontView);
+        return getItemViews(position).front;
+    }
+
+    /**
+     * Returns the front and back views of the row in the given position
+     *
+     * @param position Position of list
+     * @return resolved views, or null if the position is not visible
+     */
+    SwipeItemViews getItemViews(int position) {
+        final View child = getChildAt(position - getFirstVisiblePosition());
+        return child == null ? null : getItemViews(child);
+    }
+
+    /**
+     * Returns the front and back views of a row, resolving them only the first time
+     *
+     * @param child Row view
+     * @return resolved views
+     */
+    SwipeItemViews getItemViews(View child) {
+        SwipeItemViews views = (SwipeItemViews) child.getTag(R.id.swipelist_item_views);
+        if (views == null || views.generation != itemViewsGeneration) {
+            views = new SwipeItemViews(child, swipeFrontView, swipeBackView, itemViewsGeneration);
+            child.setTag(R.id.swipelist_item_views, views);
+        }
+        return views;
     }
 
     /**
@@ -200,14 +476,82 @@ public class SwipeListView extends ListView {
         touchListener.closeAnimate(position);
     }
 
+    /**
+     * Open ListView's items with a single animation. Only the last one is opened when multiple
+     * opened items are not allowed
+     *
+     * @param positions Positions that you want open
+     */
+    public void openAnimate(int[] positions) {
+        touchListener.openAnimate(positions);
+    }
+
+    /**
+     * Close ListView's items with a single animation
+     *
+     * @param positions Positions that you want close
+     */
+    public void closeAnimate(int[] positions) {
+        touchListener.closeAnimate(positions);
+    }
+
+    /**
+     * @param position Position of list
+     * @return true if the item was checked with SWIPE_ACTION_CHECK or setChecked
+     */
+    public boolean isChecked(int position) {
+        return touchListener.isChecked(position);
+    }
+
+    /**
+     * Checks or unchecks an item. Listeners are not notified
+     *
+     * @param position Position of list
+     * @param checked  true to check the item
+     */
+    public void setChecked(int position, boolean checked) {
+        touchListener.setChecked(position, checked);
+    }
+
+    /**
+     * @return checked positions in ascending order
+     */
+    public int[] getCheckedPositions() {
+        return touchListener.getCheckedPositions();
+    }
+
+    /**
+     * @return number of checked items
+     */
+    public int getCheckedCount() {
+        return touchListener.getCheckedCount();
+    }
+
+    /**
+     * Unchecks all items. Listeners are not notified
+     */
+    public void uncheckAll() {
+        touchListener.uncheckAll();
+    }
+
+    /**
+     * Dismiss ListView's items with a single animation
+     *
+     * @param positions Positions that you want dismiss
+     */
+    public void dismiss(int[] positions) {
+        touchListener.animateCrush(positions);
+    }
+
     /**
      * Notifies onDismiss
      *
-     * @param position All dismissed positions
+     * @param reverseSortedPositions All dismissed positions
      */
-    protected void onDismiss(int position) {
+    protected void onDismiss(int[] reverseSortedPositions) {
+        dispatchPendingMove();
         if (swipeListViewListener != null) {
-            swipeListViewListener.onDismiss(position);
+            swipeListViewListener.onDismiss(reverseSortedPositions);
         }
     }
 
@@ -219,6 +563,7 @@ public class SwipeListView extends ListView {
      * @param right    to right
      */
     protected void onStartOpen(int position, int action, boolean right) {
+        dispatchPendingMove();
         if (swipeListViewListener != null) {
             swipeListViewListener.onStartOpen(position, action, right);
         }
@@ -231,6 +576,7 @@ public class SwipeListView extends ListView {
      * @param right
      */
     protected void onStartClose(int position, boolean right) {
+        dispatchPendingMove();
         if (swipeListViewListener != null) {
             swipeListViewListener.onStartClose(position, right);
         }
@@ -247,6 +593,19 @@ public class SwipeListView extends ListView {
         }
     }
 
+    /**
+     * Notifies onChecked
+     *
+     * @param position item checked or unchecked
+     * @param checked  new checked state
+     */
+    protected void onChecked(int position, boolean checked) {
+        dispatchPendingMove();
+        if (swipeListViewListener != null) {
+            swipeListViewListener.onChecked(position, checked);
+        }
+    }
+
     /**
      * Notifies onClickBackView
      *
@@ -254,7 +613,11 @@ public class SwipeListView extends ListView {
      */
     protected void onClickBackView(int position) {
         if (swipeListViewListener != null) {
-            swipeListViewListener.onClickBackView(position);
+            if (isAsync(SwipeListViewDispatcher.EVENT_CLICK_BACK_VIEW)) {
+                dispatcher.dispatch(swipeListViewListener, SwipeListViewDispatcher.EVENT_CLICK_BACK_VIEW, position, false);
+            } else {
+                swipeListViewListener.onClickBackView(position);
+            }
         }
     }
 
@@ -265,8 +628,13 @@ public class SwipeListView extends ListView {
      * @param toRight  If should be opened toward the right
      */
     protected void onOpened(int position, boolean toRight) {
+        dispatchPendingMove();
         if (swipeListViewListener != null) {
-            swipeListViewListener.onOpened(position, toRight);
+            if (isAsync(SwipeListViewDispatcher.EVENT_OPENED)) {
+                dispatcher.dispatch(swipeListViewListener, SwipeListViewDispatcher.EVENT_OPENED, position, toRight);
+            } else {
+                swipeListViewListener.onOpened(position, toRight);
+            }
         }
     }
 
@@ -277,8 +645,30 @@ public class SwipeListView extends ListView {
      * @param fromRight If open from right
      */
     protected void onClosed(int position, boolean fromRight) {
+        dispatchPendingMove();
         if (swipeListViewListener != null) {
-            swipeListViewListener.onClosed(position, fromRight);
+            if (isAsync(SwipeListViewDispatcher.EVENT_CLOSED)) {
+                dispatcher.dispatch(swipeListViewListener, SwipeListViewDispatcher.EVENT_CLOSED, position, fromRight);
+            } else {
+                swipeListViewListener.onClosed(position, fromRight);
+            }
+        }
+    }
+
+    /**
+     * Notifies onClosed for many items
+     *
+     * @param positions Items closed
+     * @param fromRight If each item was open from right
+     */
+    protected void onClosed(int[] positions, boolean[] fromRight) {
+        dispatchPendingMove();
+        if (swipeListViewListener != null) {
+            if (isAsync(SwipeListViewDispatcher.EVENT_CLOSED)) {
+                dispatcher.dispatch(swipeListViewListener, SwipeListViewDispatcher.EVENT_CLOSED, positions, fromRight);
+            } else {
+                swipeListViewListener.onClosed(positions, fromRight);
+            }
         }
     }
 
@@ -287,8 +677,44 @@ public class SwipeListView extends ListView {
      */
     protected void onListChanged() {
         if (swipeListViewListener != null) {
-            swipeListViewListener.onListChanged();
+            if (isAsync(SwipeListViewDispatcher.EVENT_LIST_CHANGED)) {
+                dispatcher.dispatch(swipeListViewListener, SwipeListViewDispatcher.EVENT_LIST_CHANGED, null, null);
+            } else {
+                swipeListViewListener.onListChanged();
+            }
+        }
+    }
+
+    /**
+     * Asks the listener for the swipe mode of a row, only once until the adapter changes
+     *
+     * @param position Position of list
+     * @return swipe mode, SWIPE_MODE_DEFAULT to use the list one
+     */
+    int changeSwipeMode(int position) {
+        if (swipeListViewListener == null) {
+            return SWIPE_MODE_DEFAULT;
+        }
+        if (position >= swipeModes.length) {
+            byte[] modes = new byte[Math.max(position + 1, getCount())];
+            System.arraycopy(swipeModes, 0, modes, 0, swipeModes.length);
+            Arrays.fill(modes, swipeModes.length, modes.length, SWIPE_MODE_UNKNOWN);
+            swipeModes = modes;
         }
+        int mode = swipeModes[position];
+        if (mode == SWIPE_MODE_UNKNOWN) {
+            mode = swipeListViewListener.onChangeSwipeMode(position);
+            swipeModes[position] = (byte) mode;
+        }
+        return mode;
+    }
+
+    /**
+     * Forgets the swipe modes returned by onChangeSwipeMode, so they are asked again. Call it if
+     * the mode of some rows changes without notifying the adapter
+     */
+    public void invalidateSwipeModes() {
+        Arrays.fill(swipeModes, SWIPE_MODE_UNKNOWN);
     }
 
     /**
@@ -298,9 +724,50 @@ public class SwipeListView extends ListView {
      * @param x        Current position
      */
     protected void onMove(int position, float x) {
-        if (swipeListViewListener != null) {
+        if (swipeListViewListener == null) {
+            return;
+        }
+        if (!swipeCoalesceMove) {
             swipeListViewListener.onMove(position, x);
+            return;
         }
+        if (pendingMovePosition != position) {
+            dispatchPendingMove();
+            ViewCompat.postOnAnimation(this, moveDispatcher);
+        }
+        pendingMovePosition = position;
+        pendingMoveX = x;
+    }
+
+    /**
+     * Delivers the coalesced onMove, if any
+     */
+    private void dispatchPendingMove() {
+        if (pendingMovePosition == INVALID_POSITION) {
+            return;
+        }
+        final int position = pendingMovePosition;
+        pendingMovePosition = INVALID_POSITION;
+        removeCallbacks(moveDispatcher);
+        if (swipeListViewListener != null) {
+            swipeListViewListener.onMove(position, pendingMoveX);
+        }
+    }
+
+    /**
+     * Sets the dispatcher that delivers some events out of the UI thread, null to deliver all of
+     * them on the UI thread. onChangeSwipeMode, onMove, onDismiss and the start and click front
+     * view events are always synchronous. Adapter changes made from the asynchronous events must
+     * be posted back to the UI thread
+     *
+     * @param dispatcher Dispatcher
+     */
+    public void setSwipeListViewDispatcher(SwipeListViewDispatcher dispatcher) {
+        this.dispatcher = dispatcher;
+    }
+
+    private boolean isAsync(int event) {
+        return dispatcher != null && dispatcher.isAsync(event);
     }
 
     /**
@@ -310,6 +777,7 @@ public class SwipeListView extends ListView {
      */
     public void setSwipeListViewListener(BaseSwipeListViewListener swipeListViewListener) {
         this.swipeListViewListener = swipeListViewListener;
+        invalidateSwipeModes();
     }
 
     /**
@@ -343,6 +811,7 @@ public class SwipeListView extends ListView {
                 lastMotionY = y;
                 return false;
             case MotionEvent.ACTION_CANCEL:
+                touchListener.onTouch(this, ev);
                 touchState = TOUCH_STATE_REST;
                 break;
             case MotionEvent.ACTION_UP:
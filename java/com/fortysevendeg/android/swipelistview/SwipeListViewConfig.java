@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2013 47 Degrees, LLC
+ * http://47deg.com
+ * hello@47deg.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fortysevendeg.android.swipelistview;
+
+import android.content.Context;
+import android.content.res.TypedArray;
+import android.util.AttributeSet;
+
+/**
+ * Attributes of the SwipeListView, parsed once when the list is created
+ */
+class SwipeListViewConfig {
+
+    final int swipeFrontView;
+    final int swipeBackView;
+
+    /**
+     * Animation time in milliseconds, 0 to use the system short animation time
+     */
+    final long swipeAnimationTime;
+
+    /**
+     * Time in milliseconds before swipes are enabled again once the list stops scrolling
+     */
+    final long swipeScrollCooldown;
+    final float swipeOffsetLeft;
+    final float swipeOffsetRight;
+    final boolean swipeOpenOnLongPress;
+    final boolean swipeCloseAllItemsWhenMoveList;
+    final int swipeMode;
+    final int swipeActionLeft;
+    final int swipeActionRight;
+    final int swipeDismissAnimation;
+
+    /**
+     * Default configuration, used when the View is created programmatically
+     *
+     * @param swipeFrontView front view Identifier
+     * @param swipeBackView  back view Identifier
+     */
+    SwipeListViewConfig(int swipeFrontView, int swipeBackView) {
+        this.swipeFrontView = swipeFrontView;
+        this.swipeBackView = swipeBackView;
+        swipeAnimationTime = 0;
+        swipeScrollCooldown = SwipeListView.DEFAULT_SWIPE_SCROLL_COOLDOWN;
+        swipeOffsetLeft = 0;
+        swipeOffsetRight = 0;
+        swipeOpenOnLongPress = true;
+        swipeCloseAllItemsWhenMoveList = false;
+        swipeMode = SwipeListView.SWIPE_MODE_BOTH;
+        swipeActionLeft = SwipeListView.SWIPE_ACTION_REVEAL;
+        swipeActionRight = SwipeListView.SWIPE_ACTION_REVEAL;
+        swipeDismissAnimation = SwipeListView.SWIPE_DISMISS_ANIMATION_HEIGHT;
+    }
+
+    /**
+     * Reads all the SwipeListView attributes
+     *
+     * @param context Context
+     * @param attrs   AttributeSet
+     */
+    SwipeListViewConfig(Context context, AttributeSet attrs) {
+        TypedArray styled = context.obtainStyledAttributes(attrs, R.styleable.SwipeListView);
+        try {
+            swipeFrontView = styled.getResourceId(R.styleable.SwipeListView_swipeFrontView, 0);
+            swipeBackView = styled.getResourceId(R.styleable.SwipeListView_swipeBackView, 0);
+            swipeAnimationTime = styled.getInteger(R.styleable.SwipeListView_swipeAnimationTime, 0);
+            swipeScrollCooldown = styled.getInteger(R.styleable.SwipeListView_swipeScrollCooldown, SwipeListView.DEFAULT_SWIPE_SCROLL_COOLDOWN);
+            swipeOffsetLeft = styled.getDimension(R.styleable.SwipeListView_swipeOffsetLeft, 0);
+            swipeOffsetRight = styled.getDimension(R.styleable.SwipeListView_swipeOffsetRight, 0);
+            swipeOpenOnLongPress = styled.getBoolean(R.styleable.SwipeListView_swipeOpenOnLongPress, true);
+            swipeCloseAllItemsWhenMoveList = styled.getBoolean(R.styleable.SwipeListView_swipeCloseAllItemsWhenMoveList, false);
+            swipeMode = styled.getInt(R.styleable.SwipeListView_swipeMode, SwipeListView.SWIPE_MODE_BOTH);
+            swipeActionLeft = styled.getInt(R.styleable.SwipeListView_swipeActionLeft, SwipeListView.SWIPE_ACTION_REVEAL);
+            swipeActionRight = styled.getInt(R.styleable.SwipeListView_swipeActionRight, SwipeListView.SWIPE_ACTION_REVEAL);
+            swipeDismissAnimation = styled.getInt(R.styleable.SwipeListView_swipeDismissAnimation, SwipeListView.SWIPE_DISMISS_ANIMATION_HEIGHT);
+        } finally {
+            styled.recycle();
+        }
+    }
+
+}
@@ -0,0 +1,333 @@
+/*
+ * Copyright (C) 2013 47 Degrees, LLC
+ * http://47deg.com
+ * hello@47deg.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fortysevendeg.android.swipelistview;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Delivers selected SwipeListView events on a caller supplied Executor, out of the UI thread.
+ * Events of the same position are delivered in order, one at a time. Events covering several
+ * positions or the whole list (batch close and list changed) are delivered after every
+ * previous event and before any following one.
+ * <p/>
+ * The listener runs on the executor threads, so any change to the adapter or to the views made
+ * from these callbacks must be posted back to the UI thread. onDismiss is always delivered on the
+ * UI thread, the adapter must drop the dismissed items before the rows are laid out again
+ */
+public class SwipeListViewDispatcher {
+
+    /**
+     * Delivers onOpened asynchronously
+     */
+    public final static int EVENT_OPENED = 1;
+
+    /**
+     * Delivers onClosed asynchronously
+     */
+    public final static int EVENT_CLOSED = 1 << 1;
+
+    /**
+     * Delivers onClickBackView asynchronously
+     */
+    public final static int EVENT_CLICK_BACK_VIEW = 1 << 2;
+
+    /**
+     * Delivers onListChanged asynchronously
+     */
+    public final static int EVENT_LIST_CHANGED = 1 << 3;
+
+    /**
+     * All events that can be delivered asynchronously
+     */
+    public final static int EVENT_ALL = EVENT_OPENED | EVENT_CLOSED | EVENT_CLICK_BACK_VIEW | EVENT_LIST_CHANGED;
+
+    /**
+     * Marks where a stripe waits for the others before an event covering several positions
+     */
+    private final static int EVENT_BARRIER = 1 << 4;
+
+    private final static int STRIPES = 4;
+
+    private final static int MAX_POOL_SIZE = 16;
+
+    private final Executor executor;
+    private final int events;
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    /**
+     * Guards the stripes and the pool
+     */
+    private final Object lock = new Object();
+
+    private SwipeEvent pool;
+    private int poolSize;
+
+    /**
+     * Constructor
+     *
+     * @param executor Executor that runs the listener callbacks
+     * @param events   Events delivered asynchronously, EVENT_* flags. The rest stay on the UI thread
+     */
+    public SwipeListViewDispatcher(Executor executor, int events) {
+        if (executor == null) {
+            throw new IllegalArgumentException("Executor can't be null");
+        }
+        this.executor = executor;
+        this.events = events;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * @param event EVENT_* flag
+     * @return true if the event is delivered asynchronously
+     */
+    public boolean isAsync(int event) {
+        return (events & event) != 0;
+    }
+
+    /**
+     * Queues an event of a single position
+     *
+     * @param listener Listener to notify
+     * @param type     EVENT_OPENED, EVENT_CLOSED or EVENT_CLICK_BACK_VIEW
+     * @param position Position of list, can be INVALID_POSITION
+     * @param right    Side of the event, if any
+     */
+    void dispatch(BaseSwipeListViewListener listener, int type, int position, boolean right) {
+        // INVALID_POSITION is possible, for example for a back view clicked without a touch
+        final Stripe stripe = stripes[(position & Integer.MAX_VALUE) % STRIPES];
+        final boolean schedule;
+        synchronized (lock) {
+            schedule = stripe.enqueue(obtain(listener, type, position, right, null, null));
+        }
+        if (schedule) {
+            executor.execute(stripe);
+        }
+    }
+
+    /**
+     * Queues an event covering several positions or the whole list. The arrays must not be
+     * modified afterwards
+     *
+     * @param listener  Listener to notify
+     * @param type      EVENT_CLOSED or EVENT_LIST_CHANGED
+     * @param positions Positions of list, null for EVENT_LIST_CHANGED
+     * @param right     Side of each position, if any
+     */
+    void dispatch(BaseSwipeListViewListener listener, int type, int[] positions, boolean[] right) {
+        int schedule = 0;
+        synchronized (lock) {
+            final SwipeEvent event = obtain(listener, type, 0, false, positions, right);
+            event.pending = STRIPES;
+            for (int i = 0; i < STRIPES; i++) {
+                final SwipeEvent barrier = obtain(null, EVENT_BARRIER, 0, false, null, null);
+                barrier.barrier = event;
+                if (stripes[i].enqueue(barrier)) {
+                    schedule |= 1 << i;
+                }
+            }
+        }
+        execute(schedule);
+    }
+
+    private void execute(int schedule) {
+        for (int i = 0; i < STRIPES; i++) {
+            if ((schedule & (1 << i)) != 0) {
+                executor.execute(stripes[i]);
+            }
+        }
+    }
+
+    private SwipeEvent obtain(BaseSwipeListViewListener listener, int type, int position, boolean right,
+                              int[] positions, boolean[] rights) {
+        SwipeEvent event = pool;
+        if (event != null) {
+            pool = event.next;
+            event.next = null;
+            poolSize--;
+        } else {
+            event = new SwipeEvent();
+        }
+        event.listener = listener;
+        event.type = type;
+        event.position = position;
+        event.right = right;
+        event.positions = positions;
+        event.rights = rights;
+        return event;
+    }
+
+    private void recycle(SwipeEvent event) {
+        event.listener = null;
+        event.positions = null;
+        event.rights = null;
+        event.barrier = null;
+        if (poolSize < MAX_POOL_SIZE) {
+            event.next = pool;
+            pool = event;
+            poolSize++;
+        }
+    }
+
+    /**
+     * Pooled event. Fields are written only while obtained under the lock, and only read once
+     * queued
+     */
+    private static class SwipeEvent {
+        BaseSwipeListViewListener listener;
+        int type;
+        int position;
+        boolean right;
+        int[] positions;
+        boolean[] rights;
+        SwipeEvent barrier;
+        int pending;
+        SwipeEvent next;
+
+        void deliver() {
+            switch (type) {
+                case EVENT_OPENED:
+                    listener.onOpened(position, right);
+                    break;
+                case EVENT_CLOSED:
+                    if (positions != null) {
+                        listener.onClosed(positions, rights);
+                    } else {
+                        listener.onClosed(position, right);
+                    }
+                    break;
+                case EVENT_CLICK_BACK_VIEW:
+                    listener.onClickBackView(position);
+                    break;
+                case EVENT_LIST_CHANGED:
+                    listener.onListChanged();
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Serial queue of events, drained by a single task of the executor at a time
+     */
+    private class Stripe implements Runnable {
+
+        private SwipeEvent head;
+        private SwipeEvent tail;
+
+        /**
+         * A task of the executor is draining this stripe
+         */
+        private boolean scheduled;
+
+        /**
+         * Waiting for other stripes to reach a barrier
+         */
+        private boolean blocked;
+
+        /**
+         * Appends an event, called with the lock held
+         *
+         * @return true if the stripe must be executed
+         */
+        boolean enqueue(SwipeEvent event) {
+            if (tail == null) {
+                head = event;
+            } else {
+                tail.next = event;
+            }
+            tail = event;
+            if (scheduled || blocked) {
+                return false;
+            }
+            scheduled = true;
+            return true;
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                SwipeEvent event;
+                boolean barrierReached = false;
+                synchronized (lock) {
+                    event = head;
+                    if (event == null) {
+                        scheduled = false;
+                        return;
+                    }
+                    head = event.next;
+                    if (head == null) {
+                        tail = null;
+                    }
+                    event.next = null;
+                    if (event.type == EVENT_BARRIER) {
+                        final SwipeEvent barrier = event.barrier;
+                        recycle(event);
+                        if (--barrier.pending > 0) {
+                            blocked = true;
+                            scheduled = false;
+                            return;
+                        }
+                        event = barrier;
+                        barrierReached = true;
+                    }
+                }
+                boolean delivered = false;
+                try {
+                    event.deliver();
+                    delivered = true;
+                } finally {
+                    int schedule = 0;
+                    synchronized (lock) {
+                        if (barrierReached) {
+                            schedule = resume();
+                        }
+                        recycle(event);
+                    }
+                    execute(schedule);
+                    if (!delivered) {
+                        executor.execute(this);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Unblocks the stripes waiting on the barrier just delivered, called with the lock held
+     *
+     * @return stripes to execute
+     */
+    private int resume() {
+        int schedule = 0;
+        for (int i = 0; i < STRIPES; i++) {
+            final Stripe stripe = stripes[i];
+            if (stripe.blocked) {
+                stripe.blocked = false;
+                if (stripe.head != null) {
+                    stripe.scheduled = true;
+                    schedule |= 1 << i;
+                }
+            }
+        }
+        return schedule;
+    }
+
+}
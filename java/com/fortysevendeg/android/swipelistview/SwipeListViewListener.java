@@ -39,6 +39,14 @@ public interface SwipeListViewListener {
      */
     void onClosed(int position, boolean fromRight);
 
+    /**
+     * Called once when the animation closing many items finishes
+     *
+     * @param positions list items
+     * @param fromRight Close from right, for each item
+     */
+    void onClosed(int[] positions, boolean[] fromRight);
+
     /**
      * Called when the list changed
      */
@@ -76,6 +84,14 @@ public interface SwipeListViewListener {
      */
     void onClickFrontView(int position);
 
+    /**
+     * Called when an item is checked or unchecked by a swipe
+     *
+     * @param position list item
+     * @param checked  new checked state
+     */
+    void onChecked(int position, boolean checked);
+
     /**
      * Called when user clicks on the back view
      *
@@ -90,6 +106,13 @@ public interface SwipeListViewListener {
      */
     void onDismiss(int position);
 
+    /**
+     * Called once when many items are dismissed together
+     *
+     * @param reverseSortedPositions Items dismissed, from the last to the first
+     */
+    void onDismiss(int[] reverseSortedPositions);
+
     /**
      * Used when user want to change swipe list mode on some rows. Return SWIPE_MODE_DEFAULT
      * if you don't want to change swipe list mode
@@ -21,25 +21,24 @@
 package com.fortysevendeg.android.swipelistview;
 
 import android.graphics.Rect;
-import android.os.Handler;
+import android.os.Build;
+import android.util.SparseArray;
 import android.view.MotionEvent;
-import android.view.VelocityTracker;
 import android.view.View;
 import android.view.ViewConfiguration;
 import android.view.ViewGroup;
+import android.view.animation.DecelerateInterpolator;
+import android.view.animation.Interpolator;
 import android.widget.AbsListView;
 import android.widget.ListView;
 
-import com.nineoldandroids.animation.Animator;
-import com.nineoldandroids.animation.AnimatorListenerAdapter;
-import com.nineoldandroids.animation.AnimatorSet;
-import com.nineoldandroids.animation.ObjectAnimator;
-import com.nineoldandroids.animation.ValueAnimator;
-
 import java.util.ArrayList;
+import java.util.Arrays;
 
+import static com.nineoldandroids.view.ViewHelper.getTranslationX;
 import static com.nineoldandroids.view.ViewHelper.setAlpha;
 import static com.nineoldandroids.view.ViewHelper.setTranslationX;
+import static com.nineoldandroids.view.ViewHelper.setTranslationY;
 
 /**
  * Touch listener impl for the SwipeListView
@@ -47,11 +46,32 @@ import static com.nineoldandroids.view.ViewHelper.setTranslationX;
 public class SwipeListViewTouchListener implements View.OnTouchListener {
 
     private boolean swipeOpenOnLongPress = true;
+    private boolean swipeCloseAllItemsWhenMoveList = false;
+    private boolean swipeOpenMultiple = false;
+    private int swipeDismissAnimation = SwipeListView.SWIPE_DISMISS_ANIMATION_HEIGHT;
+    private int swipeMode = SwipeListView.SWIPE_MODE_BOTH;
+    private boolean swipeHardwareLayers = true;
 
     private int swipeFrontView = 0;
     private int swipeBackView = 0;
 
     private Rect rect = new Rect();
+    private int[] listViewCoords = new int[2];
+
+    /**
+     * Children of the list, searched on ACTION_DOWN
+     */
+    private final RowFinder.Rows rows = new RowFinder.Rows() {
+        @Override
+        public int getRowCount() {
+            return listView.getChildCount();
+        }
+
+        @Override
+        public int getRowBottom(int index) {
+            return listView.getChildAt(index).getBottom();
+        }
+    };
 
     // Cached ViewConfiguration and system-wide constant values
     private int slop;
@@ -68,13 +88,90 @@ public class SwipeListViewTouchListener implements View.OnTouchListener {
     private int viewWidth = 1; // 1 and not 0 to prevent dividing by zero
 
 
-    private float downX;
-    private boolean swiping;
-    private VelocityTracker velocityTracker;
+    private SwipeGesture gesture;
+    private SwipeMetrics metrics;
+
+    /**
+     * Time the front view is predicted ahead of the last touch sample in low latency mode
+     */
+    private final static long PREDICTION_TIME = 8;
+
+    private boolean swipeLowLatency;
+
+    /**
+     * Set while the animations that follow a released swipe are created
+     */
+    private boolean settleWithVelocity;
+    private final Interpolator settleInterpolator = new DecelerateInterpolator();
+
+    /**
+     * Click listeners of the touched row, shared by all rows since they act on the down position
+     */
+    private final View.OnClickListener frontClickListener = new View.OnClickListener() {
+        @Override
+        public void onClick(View v) {
+            listView.onClickFrontView(downPosition);
+        }
+    };
+
+    private final View.OnLongClickListener frontLongClickListener = new View.OnLongClickListener() {
+        @Override
+        public boolean onLongClick(View v) {
+            openAnimate(downPosition);
+            return false;
+        }
+    };
+
+    private final View.OnClickListener backClickListener = new View.OnClickListener() {
+        @Override
+        public void onClick(View v) {
+            listView.onClickBackView(downPosition);
+        }
+    };
+
+    /**
+     * If back views are hidden while their front view covers them
+     */
+    private boolean swipeHideBackViews = true;
+    private int lastFirstVisiblePosition = -1;
+    private int lastVisibleItemCount = -1;
+
+    /**
+     * Settle animation running for each position, at most one. The fade of the back view of an
+     * open row while another one is revealed is kept under the open row
+     */
+    private final SparseArray<SwipeAnimationEngine.Animation> rowAnimations = new SparseArray<SwipeAnimationEngine.Animation>();
+
+    /**
+     * Rows whose animation was stopped by a change of the adapter, settled again on the next layout
+     */
+    private final ArrayList<View> interruptedRows = new ArrayList<View>();
+
+    private SwipeAnimationEngine animationEngine = Build.VERSION.SDK_INT >= Build.VERSION_CODES.ICE_CREAM_SANDWICH
+            ? new NativeAnimationEngine() : new CompatAnimationEngine();
+
+    /**
+     * Items checked with SWIPE_ACTION_CHECK, kept like the opened ones
+     */
+    private final OpenedItems checkedItems = new OpenedItems();
+
+    private long swipeScrollCooldown;
+
+    /**
+     * Enables swipes again once the list stopped scrolling, only one can be pending
+     */
+    private final Runnable enableSwipe = new Runnable() {
+        @Override
+        public void run() {
+            setEnabled(true);
+        }
+    };
     private int downPosition;
+    private boolean settleInterrupted;
     private View parentView;
     private View frontView;
     private View backView;
+    private View lastOpenBackView;
     private boolean paused;
 
     private int swipeCurrentAction = SwipeListView.SWIPE_ACTION_NONE;
@@ -82,7 +179,7 @@ public class SwipeListViewTouchListener implements View.OnTouchListener {
     private int swipeActionLeft = SwipeListView.SWIPE_ACTION_REVEAL;
     private int swipeActionRight = SwipeListView.SWIPE_ACTION_REVEAL;
 
-    private ListItem lastItem;
+    private OpenedItems openedItems = new OpenedItems();
     private boolean listViewMoving;
 
     /**
@@ -93,16 +190,35 @@ public class SwipeListViewTouchListener implements View.OnTouchListener {
      * @param swipeBackView  back view Identifier
      */
     public SwipeListViewTouchListener(SwipeListView listView, int swipeFrontView, int swipeBackView) {
-        this.swipeFrontView = swipeFrontView;
-        this.swipeBackView = swipeBackView;
+        this(listView, new SwipeListViewConfig(swipeFrontView, swipeBackView));
+    }
+
+    /**
+     * Constructor
+     *
+     * @param listView SwipeListView
+     * @param config   attributes of the list
+     */
+    SwipeListViewTouchListener(SwipeListView listView, SwipeListViewConfig config) {
+        this.swipeFrontView = config.swipeFrontView;
+        this.swipeBackView = config.swipeBackView;
         ViewConfiguration vc = ViewConfiguration.get(listView.getContext());
         slop = vc.getScaledTouchSlop();
         minFlingVelocity = vc.getScaledMinimumFlingVelocity();
         maxFlingVelocity = vc.getScaledMaximumFlingVelocity();
         configShortAnimationTime = listView.getContext().getResources().getInteger(android.R.integer.config_shortAnimTime);
-        animationTime = configShortAnimationTime;
+        animationTime = config.swipeAnimationTime > 0 ? config.swipeAnimationTime : configShortAnimationTime;
+        swipeScrollCooldown = config.swipeScrollCooldown;
+        leftOffset = config.swipeOffsetLeft;
+        rightOffset = config.swipeOffsetRight;
+        swipeOpenOnLongPress = config.swipeOpenOnLongPress;
+        swipeCloseAllItemsWhenMoveList = config.swipeCloseAllItemsWhenMoveList;
+        swipeMode = config.swipeMode;
+        swipeActionLeft = config.swipeActionLeft;
+        swipeActionRight = config.swipeActionRight;
+        swipeDismissAnimation = config.swipeDismissAnimation;
+        gesture = new SwipeGesture(slop, minFlingVelocity, maxFlingVelocity, leftOffset, rightOffset);
         this.listView = listView;
-        lastItem = new ListItem(-1);
     }
 
     /**
@@ -121,20 +237,9 @@ public class SwipeListViewTouchListener implements View.OnTouchListener {
      */
     private void setFrontView(View frontView) {
         this.frontView = frontView;
-        frontView.setOnClickListener(new View.OnClickListener() {
-            @Override
-            public void onClick(View v) {
-                listView.onClickFrontView(downPosition);
-            }
-        });
+        frontView.setOnClickListener(frontClickListener);
         if (swipeOpenOnLongPress) {
-            frontView.setOnLongClickListener(new View.OnLongClickListener() {
-                @Override
-                public boolean onLongClick(View v) {
-                    openAnimate(downPosition);
-                    return false;
-                }
-            });
+            frontView.setOnLongClickListener(frontLongClickListener);
         }
     }
 
@@ -145,12 +250,82 @@ public class SwipeListViewTouchListener implements View.OnTouchListener {
      */
     private void setBackView(View backView) {
         this.backView = backView;
-        backView.setOnClickListener(new View.OnClickListener() {
-            @Override
-            public void onClick(View v) {
-                listView.onClickBackView(downPosition);
+        backView.setOnClickListener(backClickListener);
+    }
+
+    /**
+     * Sets if more than one item can be open at the same time. When disabled, opening an item
+     * dismisses the one that was open before.
+     *
+     * @param swipeOpenMultiple true to allow many opened items
+     */
+    public void setSwipeOpenMultiple(boolean swipeOpenMultiple) {
+        this.swipeOpenMultiple = swipeOpenMultiple;
+    }
+
+    /**
+     * Sets how dismissed rows disappear
+     *
+     * @param swipeDismissAnimation SWIPE_DISMISS_ANIMATION_HEIGHT or SWIPE_DISMISS_ANIMATION_TRANSLATION
+     */
+    public void setSwipeDismissAnimation(int swipeDismissAnimation) {
+        this.swipeDismissAnimation = swipeDismissAnimation;
+    }
+
+    /**
+     * Sets if animated front and back views are rendered on hardware layers during gestures and
+     * animations. The layer type they had is restored when they finish.
+     *
+     * @param swipeHardwareLayers true to use hardware layers
+     */
+    public void setSwipeHardwareLayers(boolean swipeHardwareLayers) {
+        this.swipeHardwareLayers = swipeHardwareLayers;
+    }
+
+    /**
+     * Sets if the drag uses every batched touch sample and predicts the front view position
+     * a few milliseconds ahead, bounded by the touch slop
+     *
+     * @param swipeLowLatency true to reduce the drag latency
+     */
+    public void setSwipeLowLatency(boolean swipeLowLatency) {
+        this.swipeLowLatency = swipeLowLatency;
+    }
+
+    /**
+     * Sets if back views are made invisible while their row is closed. Disable it if front
+     * views are not opaque
+     *
+     * @param swipeHideBackViews true to hide covered back views
+     */
+    public void setSwipeHideBackViews(boolean swipeHideBackViews) {
+        this.swipeHideBackViews = swipeHideBackViews;
+        if (!swipeHideBackViews) {
+            for (int i = 0, count = listView.getChildCount(); i < count; i++) {
+                SwipeItemViews views = listView.getItemViews(listView.getChildAt(i));
+                if (views.isBackInflated() && views.back != null) {
+                    views.back.setVisibility(View.VISIBLE);
+                }
             }
-        });
+        }
+    }
+
+    /**
+     * Sets the engine that runs the animations
+     *
+     * @param animationEngine animation engine
+     */
+    public void setSwipeAnimationEngine(SwipeAnimationEngine animationEngine) {
+        this.animationEngine = animationEngine;
+    }
+
+    /**
+     * Sets the frame statistics to record, null to stop recording
+     *
+     * @param metrics statistics
+     */
+    void setSwipeMetrics(SwipeMetrics metrics) {
+        this.metrics = metrics;
     }
 
     /**
@@ -161,9 +336,145 @@ public class SwipeListViewTouchListener implements View.OnTouchListener {
     }
 
     /**
-     * Adds new items when adapter is modified
+     * Keeps opened items in sync when adapter is modified. The running animations are stopped,
+     * their positions may not match the items anymore
      */
     public void resetItems() {
+        final int count = rowAnimations.size();
+        if (count > 0) {
+            final SwipeAnimationEngine.Animation[] animations = new SwipeAnimationEngine.Animation[count];
+            for (int i = 0; i < count; i++) {
+                animations[i] = rowAnimations.valueAt(i);
+                final SwipeItemViews views = listView.getItemViews(rowAnimations.keyAt(i));
+                if (views != null && !(animations[i] instanceof BackFade)) {
+                    interruptedRows.add(views.parent);
+                }
+            }
+            rowAnimations.clear();
+            for (SwipeAnimationEngine.Animation animation : animations) {
+                animation.cancel();
+                if (animation instanceof BackFade) {
+                    setAlpha(((BackFade) animation).view, 1f);
+                }
+            }
+        }
+        openedItems.update(listView.getAdapter());
+        checkedItems.update(listView.getAdapter());
+    }
+
+    /**
+     * @param position Position of list
+     * @return true if the item is checked
+     */
+    boolean isChecked(int position) {
+        return checkedItems.isOpen(position);
+    }
+
+    /**
+     * Checks or unchecks an item
+     *
+     * @param position Position of list
+     * @param checked  true to check the item
+     */
+    void setChecked(int position, boolean checked) {
+        if (checked) {
+            checkedItems.open(position, false);
+        } else {
+            checkedItems.close(position);
+        }
+    }
+
+    /**
+     * @return checked positions in ascending order
+     */
+    int[] getCheckedPositions() {
+        final int[] positions = new int[checkedItems.size()];
+        for (int i = 0, position = checkedItems.nextOpen(0); position >= 0; position = checkedItems.nextOpen(position + 1)) {
+            positions[i++] = position;
+        }
+        return positions;
+    }
+
+    /**
+     * @return number of checked items
+     */
+    int getCheckedCount() {
+        return checkedItems.size();
+    }
+
+    /**
+     * Unchecks all items
+     */
+    void uncheckAll() {
+        checkedItems.clear();
+    }
+
+    /**
+     * Moves the front views of the visible rows to match the opened items. Rows can be bound to
+     * other positions after the adapter changes. Rows being swiped or animated are left as they
+     * are, and the rows stopped by the change settle from where they are
+     */
+    void syncItemViews() {
+        final int firstPosition = listView.getFirstVisiblePosition();
+        for (int i = 0, count = listView.getChildCount(); i < count; i++) {
+            View child = listView.getChildAt(i);
+            SwipeItemViews views = listView.getItemViews(child);
+            if (views.front == null || (gesture.isSwiping() && child == parentView) || rowAnimations.get(firstPosition + i) != null) {
+                continue;
+            }
+            if (interruptedRows.contains(child)) {
+                if (getTranslationX(child) != 0) {
+                    animateDismiss(child, false, false, firstPosition + i);
+                } else {
+                    animateReveal(views.front, false, false, firstPosition + i);
+                }
+                continue;
+            }
+            final int translationX = calcSwipeTranslationX(false, false, firstPosition + i);
+            if (translationX != 0) {
+                views.inflateBack();
+            }
+            setTranslationX(views.front, translationX);
+            setBackVisible(views, translationX != 0);
+        }
+        interruptedRows.clear();
+    }
+
+    /**
+     * Hides the back views of the visible rows whose front view covers them, and shows the other
+     * ones. Rows being swiped or animated are left as they are
+     */
+    void syncBackViews() {
+        if (!swipeHideBackViews) {
+            return;
+        }
+        final int firstPosition = listView.getFirstVisiblePosition();
+        for (int i = 0, count = listView.getChildCount(); i < count; i++) {
+            View child = listView.getChildAt(i);
+            if ((gesture.isSwiping() && child == parentView) || rowAnimations.get(firstPosition + i) != null) {
+                continue;
+            }
+            SwipeItemViews views = listView.getItemViews(child);
+            if (views.front != null) {
+                setBackVisible(views, getTranslationX(views.front) != 0);
+            }
+        }
+    }
+
+    /**
+     * Shows or hides the back view of a row
+     *
+     * @param views   views of the row, can be null
+     * @param visible true to show it
+     */
+    private void setBackVisible(SwipeItemViews views, boolean visible) {
+        if (!swipeHideBackViews || views == null || views.back == null || !views.isBackInflated()) {
+            return;
+        }
+        final int visibility = visible ? View.VISIBLE : View.INVISIBLE;
+        if (views.back.getVisibility() != visibility) {
+            views.back.setVisibility(visibility);
+        }
     }
 
     /**
@@ -184,14 +495,64 @@ public class SwipeListViewTouchListener implements View.OnTouchListener {
         closeAnimate(findFrontViewByPosition(position), position);
     }
 
+    /**
+     * Open items. Only the last one is opened if multiple opened items are not allowed
+     *
+     * @param positions Positions of list
+     */
+    protected void openAnimate(int[] positions) {
+        if (!swipeOpenMultiple) {
+            if (positions.length > 0) {
+                openAnimate(positions[positions.length - 1]);
+            }
+            return;
+        }
+        animateRevealBatch(positions, true);
+    }
+
+    /**
+     * Close items
+     *
+     * @param positions Positions of list
+     */
+    protected void closeAnimate(int[] positions) {
+        animateRevealBatch(positions, false);
+    }
+
     private View findFrontViewByPosition(final int position) {
-        final int realPosition = position - listView.getFirstVisiblePosition();
-        return listView.getChildAt(realPosition).findViewById(swipeFrontView);
+        return listView.getItemViews(position).front;
     }
 
-    private View findBackViewByPosition(final int position) {
-        final int realPosition = position - listView.getFirstVisiblePosition();
-        return listView.getChildAt(realPosition).findViewById(swipeBackView);
+    /**
+     * Back view of the opened item when it is visible and it is not the touched item
+     *
+     * @return back view or null
+     */
+    private View findLastOpenBackView() {
+        final int position = findOtherOpenPosition(downPosition);
+        if (position == ListView.INVALID_POSITION) {
+            return null;
+        }
+        final SwipeItemViews views = listView.getItemViews(position);
+        return views == null ? null : views.back;
+    }
+
+    /**
+     * When only one item can be open, finds the opened item that is going to be dismissed if
+     * the given item opens
+     *
+     * @param position Position of list
+     * @return opened position or INVALID_POSITION
+     */
+    private int findOtherOpenPosition(int position) {
+        if (swipeOpenMultiple) {
+            return ListView.INVALID_POSITION;
+        }
+        int openPosition = openedItems.nextOpen(0);
+        if (openPosition == position) {
+            openPosition = openedItems.nextOpen(position + 1);
+        }
+        return openPosition < 0 ? ListView.INVALID_POSITION : openPosition;
     }
 
     /**
@@ -201,8 +562,11 @@ public class SwipeListViewTouchListener implements View.OnTouchListener {
      * @param position Position of list
      */
     private void openAnimate(View view, int position) {
+        final boolean animating = cancelRowAnimation(position);
         if (!isOpen(position)) {
-            animateReveal(view, true, false, new ListItem(position));
+            animateReveal(view, true, false, position);
+        } else if (animating) {
+            animateReveal(view, false, false, position);
         }
     }
 
@@ -213,9 +577,28 @@ public class SwipeListViewTouchListener implements View.OnTouchListener {
      * @param position Position of list
      */
     private void closeAnimate(View view, int position) {
+        final boolean animating = cancelRowAnimation(position);
         if (isOpen(position)) {
-            animateReveal(view, true, false, new ListItem(position));
+            animateReveal(view, true, false, position);
+        } else if (animating) {
+            animateReveal(view, false, false, position);
+        }
+    }
+
+    /**
+     * Stops the settle animation of a row where it is, without changing its state
+     *
+     * @param position Position of list
+     * @return true if an animation was running
+     */
+    private boolean cancelRowAnimation(int position) {
+        final SwipeAnimationEngine.Animation animation = rowAnimations.get(position);
+        if (animation == null) {
+            return false;
         }
+        rowAnimations.remove(position);
+        animation.cancel();
+        return true;
     }
 
     /**
@@ -227,75 +610,472 @@ public class SwipeListViewTouchListener implements View.OnTouchListener {
      * @param position  Position of list
      */
     private void chooseAnimation(final View view, final boolean swap, final boolean swapRight, final int position) {
-        ListItem newItem = new ListItem(position);
-        if (lastItem.getPosition() == position) newItem = lastItem;
-
-        if (swipeCurrentAction == SwipeListView.SWIPE_ACTION_REVEAL) {
-            animateReveal(view, swap, swapRight, newItem);
+        switch (swipeCurrentAction) {
+            case SwipeListView.SWIPE_ACTION_DISMISS:
+                animateDismiss(parentView, swap, swapRight, position);
+                break;
+            case SwipeListView.SWIPE_ACTION_CHECK:
+                animateCheck(view, swap, position);
+                break;
+            default:
+                animateReveal(view, swap, swapRight, position);
+                break;
         }
     }
 
-    private void animateCrush(final ListItem openItem) {
-        animateCrush(openItem, null);
+    /**
+     * Slides the whole row out and collapses it, or moves it back if it is not dismissed
+     *
+     * @param view      row view
+     * @param swap      true if the row is dismissed
+     * @param swapRight true if it leaves toward the right
+     * @param position  Position of list
+     */
+    private void animateDismiss(final View view, final boolean swap, final boolean swapRight, final int position) {
+        cancelRowAnimation(position);
+        final float moveTo = swap ? (swapRight ? viewWidth : -viewWidth) : 0;
+        final float distance = moveTo - getTranslationX(view);
+        setHardwareLayer(view, true);
+        startMetricsPhase(SwipeMetrics.PHASE_REVEAL);
+        rowAnimations.put(position, animationEngine.animate(view, moveTo, swap ? 0f : 1f, getSettleDuration(distance), getSettleInterpolator(distance), new AnimationEndListener() {
+            @Override
+            public void onAnimationEnd(boolean cancelled) {
+                setHardwareLayer(view, false);
+                endMetricsPhase(SwipeMetrics.PHASE_REVEAL);
+                if (cancelled) {
+                    return;
+                }
+                listView.resetScrolling();
+                rowAnimations.remove(position);
+                if (swap) {
+                    animateCrush(position);
+                }
+            }
+        }));
+    }
+
+    /**
+     * Moves the front view back and toggles the checked state of the item
+     *
+     * @param view     front view
+     * @param swap     true if the checked state changes
+     * @param position Position of list
+     */
+    private void animateCheck(final View view, final boolean swap, final int position) {
+        cancelRowAnimation(position);
+        final SwipeItemViews itemViews = listView.getItemViews(position);
+        final float distance = -getTranslationX(view);
+        setHardwareLayer(view, true);
+        startMetricsPhase(SwipeMetrics.PHASE_REVEAL);
+        rowAnimations.put(position, animationEngine.animate(view, 0f, Float.NaN, getSettleDuration(distance), getSettleInterpolator(distance), new AnimationEndListener() {
+            @Override
+            public void onAnimationEnd(boolean cancelled) {
+                setHardwareLayer(view, false);
+                endMetricsPhase(SwipeMetrics.PHASE_REVEAL);
+                if (cancelled) {
+                    return;
+                }
+                listView.resetScrolling();
+                rowAnimations.remove(position);
+                setBackVisible(itemViews, false);
+                if (swap) {
+                    boolean checked = !isChecked(position);
+                    setChecked(position, checked);
+                    listView.onChecked(position, checked);
+                }
+            }
+        }));
+    }
+
+    private void animateCrush(final int position) {
+        animateCrush(new int[]{position});
     }
 
     /**
-     * Actually dismisses the openItem, leaving the view of the position normal.
-     * or if there is another item open, it leaves it open where openItem used to be
+     * Actually dismisses the given items, leaving the views of the positions normal.
+     * All the rows collapse with a single animator and the listener is notified once when all
+     * of them are gone.
      *
-     * @param openItem - the item that will be dismissed
-     * @param newItem  - item to replace openItem, null if no such object.
+     * @param positions - the items that will be dismissed
      */
-    private void animateCrush(final ListItem openItem, final ListItem newItem) {
-        final View frontView = findFrontViewByPosition(openItem.getPosition());
-        final View backView = findBackViewByPosition(openItem.getPosition());
-        final View view = (View) frontView.getParent();
-        final ViewGroup.LayoutParams lp = view.getLayoutParams();
-        final int originalHeight = view.getHeight();
+    protected void animateCrush(final int[] positions) {
+        final int[] reverseSortedPositions = positions.clone();
+        Arrays.sort(reverseSortedPositions);
+        for (int i = 0, j = reverseSortedPositions.length - 1; i < j; i++, j--) {
+            int position = reverseSortedPositions[i];
+            reverseSortedPositions[i] = reverseSortedPositions[j];
+            reverseSortedPositions[j] = position;
+        }
+        final SwipeItemViews[] views = new SwipeItemViews[reverseSortedPositions.length];
+        for (int i = 0; i < views.length; i++) {
+            views[i] = listView.getItemViews(reverseSortedPositions[i]);
+        }
 
-        ValueAnimator animator = ValueAnimator.ofInt(originalHeight, 1).setDuration(animationTime);
-        animator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
+        startMetricsPhase(SwipeMetrics.PHASE_COLLAPSE);
+        final Collapse collapse;
+        if (swipeDismissAnimation == SwipeListView.SWIPE_DISMISS_ANIMATION_TRANSLATION) {
+            collapse = collapseByTranslation(views);
+        } else {
+            collapse = collapseByHeight(views);
+        }
+
+        animationEngine.animate(animationTime, null, new SwipeAnimationEngine.AnimationListener() {
             @Override
-            public void onAnimationUpdate(ValueAnimator valueAnimator) {
-                lp.height = (Integer) valueAnimator.getAnimatedValue();
-                view.setLayoutParams(lp);
+            public void onAnimationUpdate(float fraction) {
+                collapse.update(fraction);
+            }
+
+            @Override
+            public void onAnimationEnd(boolean cancelled) {
+                endMetricsPhase(SwipeMetrics.PHASE_COLLAPSE);
+                for (int position : reverseSortedPositions) {
+                    openedItems.remove(position);
+                    checkedItems.remove(position);
+                }
+                listView.onDismiss(reverseSortedPositions);
+                // the data change only lays out on the next frame, the rows must be normal by then
+                collapse.restore();
+                for (SwipeItemViews itemViews : views) {
+                    if (itemViews != null) {
+                        fixLastView(itemViews);
+                    }
+                }
             }
         });
+    }
 
-        animator.addListener(new AnimatorListenerAdapter() {
+    /**
+     * Leaves a dismissed row normal so it can be reused
+     *
+     * @param views views of the row
+     */
+    private void fixLastView(SwipeItemViews views) {
+        setAlpha(views.back, 1f);
+        setTranslationX(views.front, 0f);
+        setBackVisible(views, false);
+        setAlpha(views.parent, 1f);
+        setTranslationX(views.parent, 0f);
+    }
+
+    /**
+     * Fade of the back view of an open row, kept in the row animations so it is not stacked
+     */
+    private static class BackFade implements SwipeAnimationEngine.Animation {
+
+        private final View view;
+        private SwipeAnimationEngine.Animation animation;
+
+        BackFade(View view) {
+            this.view = view;
+        }
+
+        @Override
+        public void cancel() {
+            animation.cancel();
+        }
+
+    }
+
+    /**
+     * Listener of animations that only need to know when they end
+     */
+    private abstract static class AnimationEndListener implements SwipeAnimationEngine.AnimationListener {
+
+        @Override
+        public void onAnimationUpdate(float fraction) {
+        }
+
+    }
+
+    /**
+     * Collapse of dismissed rows, driven by the fraction of an animation
+     */
+    private interface Collapse {
+
+        /**
+         * @param fraction interpolated fraction, from 0 to 1
+         */
+        void update(float fraction);
+
+        /**
+         * Restores the rows once the adapter has removed the items
+         */
+        void restore();
+
+    }
+
+    /**
+     * Shrinks the dismissed rows. Every frame the new heights are written into the existing
+     * layout params and only a layout is requested, which runs once per frame for the whole list.
+     *
+     * @param views dismissed rows, null if not visible
+     * @return collapse of the rows
+     */
+    private Collapse collapseByHeight(final SwipeItemViews[] views) {
+        final int count = views.length;
+        final ViewGroup.LayoutParams[] layoutParams = new ViewGroup.LayoutParams[count];
+        final int[] originalHeights = new int[count];
+        for (int i = 0; i < count; i++) {
+            if (views[i] != null) {
+                layoutParams[i] = views[i].parent.getLayoutParams();
+                originalHeights[i] = views[i].parent.getHeight();
+            }
+        }
+        return new Collapse() {
             @Override
-            public void onAnimationEnd(Animator animation) {
-                listView.onDismiss(openItem.getPosition());
-                listView.post(new Runnable() {
-                    @Override
-                    public void run() {
-                        lp.height = originalHeight;
-                        fixLastView();
-                        fixNewView();
-                        openItem.close();
+            public void update(float fraction) {
+                final float remaining = 1f - fraction;
+                for (int i = 0; i < count; i++) {
+                    if (views[i] != null) {
+                        layoutParams[i].height = Math.max(1, (int) (originalHeights[i] * remaining));
+                        views[i].parent.requestLayout();
                     }
+                }
+            }
 
-                    private void fixNewView() {
-                        if (newItem == null) return;
-                        int position = newItem.getPosition();
-                        final View front = findFrontViewByPosition(position);
-                        newItem.setPosition(--position);
-                        final View newFront = findFrontViewByPosition(position);
-                        final float openX = front.getX();
-                        if (position < openItem.getPosition()) return;
-
-                        front.setX(0f);
-                        newFront.setX(openX);
+            @Override
+            public void restore() {
+                for (int i = 0; i < count; i++) {
+                    if (views[i] != null) {
+                        layoutParams[i].height = originalHeights[i];
                     }
+                }
+            }
+        };
+    }
+
+    /**
+     * Slides the rows below the dismissed ones up with translationY, on hardware layers, while the
+     * dismissed rows fade out. The list is not laid out until the adapter removes the items.
+     *
+     * @param views dismissed rows, null if not visible
+     * @return collapse of the rows
+     */
+    private Collapse collapseByTranslation(final SwipeItemViews[] views) {
+        final int childCount = listView.getChildCount();
+        final View[] children = new View[childCount];
+        final boolean[] dismissed = new boolean[childCount];
+        final float[] shifts = new float[childCount];
+        float shift = 0;
+        for (int i = 0; i < childCount; i++) {
+            children[i] = listView.getChildAt(i);
+            for (SwipeItemViews itemViews : views) {
+                if (itemViews != null && itemViews.parent == children[i]) {
+                    dismissed[i] = true;
+                    shift += children[i].getHeight() + listView.getDividerHeight();
+                    break;
+                }
+            }
+            shifts[i] = shift;
+            if (shift > 0) {
+                setHardwareLayer(children[i], true);
+            }
+        }
+        return new Collapse() {
+            @Override
+            public void update(float fraction) {
+                for (int i = 0; i < childCount; i++) {
+                    if (dismissed[i]) {
+                        setAlpha(children[i], 1f - fraction);
+                    } else if (shifts[i] > 0) {
+                        setTranslationY(children[i], -shifts[i] * fraction);
+                    }
+                }
+            }
 
-                    private void fixLastView() {
-                        backView.setAlpha(1f);
-                        frontView.setX(0f);
+            @Override
+            public void restore() {
+                for (int i = 0; i < childCount; i++) {
+                    if (shifts[i] > 0) {
+                        setTranslationY(children[i], 0f);
+                        setAlpha(children[i], 1f);
+                        setHardwareLayer(children[i], false);
+                    }
+                }
+            }
+        };
+    }
+
+    /**
+     * Renders a view on a hardware layer while it is animated, so changing its translation or
+     * alpha does not redraw its content. The layer type the view had is kept as a tag and
+     * restored when the animation ends. Only available since Honeycomb
+     *
+     * @param view    animated view, can be null
+     * @param enabled true when the animation starts, false when it ends
+     */
+    private void setHardwareLayer(View view, boolean enabled) {
+        if (view == null || Build.VERSION.SDK_INT < Build.VERSION_CODES.HONEYCOMB) {
+            return;
+        }
+        final Integer savedLayerType = (Integer) view.getTag(R.id.swipelist_layer_type);
+        if (enabled) {
+            if (swipeHardwareLayers && savedLayerType == null) {
+                // a view already promoted by the swipe keeps the layer type it had before it
+                view.setTag(R.id.swipelist_layer_type, view.getLayerType());
+                view.setLayerType(View.LAYER_TYPE_HARDWARE, null);
+            }
+        } else if (savedLayerType != null) {
+            view.setTag(R.id.swipelist_layer_type, null);
+            view.setLayerType(savedLayerType, null);
+        }
+    }
+
+    /**
+     * Duration of an animation. After a released swipe it depends on the remaining distance and
+     * the release velocity, otherwise it is the animation time
+     *
+     * @param distance remaining distance of the item, signed
+     * @return duration in milliseconds
+     */
+    private long getSettleDuration(float distance) {
+        return settleWithVelocity ? gesture.getSettleDuration(distance, animationTime) : animationTime;
+    }
+
+    /**
+     * Interpolator of an animation, decelerating when a released swipe already moves toward the
+     * target
+     *
+     * @param distance remaining distance of the item, signed
+     * @return interpolator, null for the default one
+     */
+    private Interpolator getSettleInterpolator(float distance) {
+        return settleWithVelocity && gesture.isSettleFling(distance) ? settleInterpolator : null;
+    }
+
+    private void startMetricsPhase(int phase) {
+        if (metrics != null) {
+            metrics.startPhase(phase);
+        }
+    }
+
+    private void endMetricsPhase(int phase) {
+        if (metrics != null) {
+            metrics.endPhase(phase);
+        }
+    }
+
+    /**
+     * Opens or closes many items with a single animator that moves all their front views.
+     * Items that are not visible only change their state.
+     *
+     * @param positions Positions of list
+     * @param open      true to open the items, false to close them
+     */
+    private void animateRevealBatch(int[] positions, final boolean open) {
+        int count = 0;
+        final int[] selected = new int[positions.length];
+        final boolean[] selectedChanges = new boolean[positions.length];
+        for (int position : positions) {
+            final boolean animating = cancelRowAnimation(position);
+            final boolean changes = isOpen(position) != open;
+            if (changes || animating) {
+                selectedChanges[count] = changes;
+                selected[count++] = position;
+            }
+        }
+        if (count == 0) {
+            return;
+        }
+        final int[] batch = new int[count];
+        final boolean[] changes = new boolean[count];
+        System.arraycopy(selected, 0, batch, 0, count);
+        System.arraycopy(selectedChanges, 0, changes, 0, count);
+        final View[] views = new View[count];
+        final SwipeItemViews[] rowViews = new SwipeItemViews[count];
+        final float[] startX = new float[count];
+        final float[] endX = new float[count];
+        for (int i = 0; i < count; i++) {
+            SwipeItemViews itemViews = listView.getItemViews(batch[i]);
+            if (itemViews != null) {
+                rowViews[i] = itemViews;
+                views[i] = itemViews.front;
+                startX[i] = getTranslationX(itemViews.front);
+                endX[i] = calcSwipeTranslationX(changes[i], false, batch[i]);
+                if (endX[i] != 0) {
+                    itemViews.inflateBack();
+                    setBackVisible(itemViews, true);
+                }
+                setHardwareLayer(views[i], true);
+            }
+        }
+
+        // each row can be taken out of the batch by a touch or another command, the rest go on
+        final boolean[] detached = new boolean[count];
+        final SwipeAnimationEngine.Animation[] rows = new SwipeAnimationEngine.Animation[count];
+        startMetricsPhase(SwipeMetrics.PHASE_REVEAL);
+        final SwipeAnimationEngine.Animation animation = animationEngine.animate(animationTime, null, new SwipeAnimationEngine.AnimationListener() {
+            @Override
+            public void onAnimationUpdate(float fraction) {
+                for (int i = 0; i < views.length; i++) {
+                    if (views[i] != null && !detached[i]) {
+                        setTranslationX(views[i], startX[i] + (endX[i] - startX[i]) * fraction);
+                    }
+                }
+            }
+
+            @Override
+            public void onAnimationEnd(boolean cancelled) {
+                endMetricsPhase(SwipeMetrics.PHASE_REVEAL);
+                for (int i = 0; i < views.length; i++) {
+                    if (!detached[i]) {
+                        setHardwareLayer(views[i], false);
+                    }
+                }
+                if (cancelled) {
+                    return;
+                }
+                listView.resetScrolling();
+                int changedCount = 0;
+                final int[] changed = new int[batch.length];
+                for (int i = 0; i < batch.length; i++) {
+                    if (!detached[i]) {
+                        rowAnimations.remove(batch[i]);
+                        setBackVisible(rowViews[i], endX[i] != 0);
+                        if (changes[i]) {
+                            changed[changedCount++] = batch[i];
+                        }
+                    }
+                }
+                if (changedCount == 0) {
+                    return;
+                }
+                if (open) {
+                    for (int i = 0; i < changedCount; i++) {
+                        listView.onOpened(changed[i], false);
+                        openedItems.open(changed[i], false);
+                    }
+                } else {
+                    final int[] closed = new int[changedCount];
+                    System.arraycopy(changed, 0, closed, 0, changedCount);
+                    boolean[] fromRight = new boolean[changedCount];
+                    for (int i = 0; i < changedCount; i++) {
+                        fromRight[i] = wasSwipedRight(closed[i]);
+                    }
+                    listView.onClosed(closed, fromRight);
+                    for (int position : closed) {
+                        openedItems.close(position);
                     }
-                });
+                }
             }
         });
-        animator.start();
+        for (int i = 0; i < count; i++) {
+            final int index = i;
+            rows[i] = new SwipeAnimationEngine.Animation() {
+                @Override
+                public void cancel() {
+                    detached[index] = true;
+                    setHardwareLayer(views[index], false);
+                    for (boolean rowDetached : detached) {
+                        if (!rowDetached) {
+                            return;
+                        }
+                    }
+                    animation.cancel();
+                }
+            };
+            rowAnimations.put(batch[i], rows[i]);
+        }
     }
 
     /**
@@ -304,43 +1084,69 @@ public class SwipeListViewTouchListener implements View.OnTouchListener {
      * @param view      affected view
      * @param swap      If will change state. If "false" returns to the original position
      * @param swapRight If swap is true, this parameter tells if movement is toward right or left
-     * @param item      the item we wish to act upon
+     * @param position  Position of list
      */
-    private void animateReveal(final View view, final boolean swap, final boolean swapRight, final ListItem item) {
-
-        int moveTo = calcSwipeTranslationX(swap, swapRight, item.getPosition());
-
-        ArrayList<Animator> animators = new ArrayList<Animator>();
-        animators.add(ObjectAnimator.ofFloat(view, "translationX", view.getX(), moveTo));
-
-        final boolean isLastItemOpenAndNotMe = item.getPosition() != lastItem.getPosition() && lastItem.isOpen();
-        if (isLastItemOpenAndNotMe) {
-            View openView = findBackViewByPosition(lastItem.getPosition());      // we play with it's alpha.
-            animators.add(ObjectAnimator.ofFloat(openView, "alpha", openView.getAlpha(), calculateAlpha((float) moveTo)));
+    private void animateReveal(final View view, final boolean swap, final boolean swapRight, final int position) {
+
+        cancelRowAnimation(position);
+        int moveTo = calcSwipeTranslationX(swap, swapRight, position);
+        final SwipeItemViews itemViews = listView.getItemViews(position);
+        if (moveTo != 0 && itemViews != null) {
+            itemViews.inflateBack();
+            setBackVisible(itemViews, true);
         }
-
-        AnimatorSet set = new AnimatorSet();
-        set.setDuration(animationTime);
-        set.playTogether(animators);
-        set.addListener(new AnimatorListenerAdapter() {
+        final float distance = moveTo - getTranslationX(view);
+        final long duration = getSettleDuration(distance);
+        final Interpolator interpolator = getSettleInterpolator(distance);
+
+        final int otherOpenPosition = findOtherOpenPosition(position);
+        final SwipeItemViews otherOpenViews = otherOpenPosition == ListView.INVALID_POSITION ? null : listView.getItemViews(otherOpenPosition);
+        final View openView = otherOpenViews == null ? null : otherOpenViews.back;      // we play with it's alpha.
+        setHardwareLayer(view, true);
+        startMetricsPhase(SwipeMetrics.PHASE_REVEAL);
+
+        final SwipeAnimationEngine.Animation otherAnimation = openView == null ? null : rowAnimations.get(otherOpenPosition);
+        if (openView != null && (otherAnimation == null || otherAnimation instanceof BackFade)) {
+            // a previous fade is replaced, a row still settling keeps its back view as it is
+            cancelRowAnimation(otherOpenPosition);
+            final BackFade fade = new BackFade(openView);
+            setHardwareLayer(openView, true);
+            fade.animation = animationEngine.animate(openView, Float.NaN, calculateAlpha((float) moveTo), duration, interpolator, new AnimationEndListener() {
+                @Override
+                public void onAnimationEnd(boolean cancelled) {
+                    setHardwareLayer(openView, false);
+                    if (!cancelled) {
+                        rowAnimations.remove(otherOpenPosition);
+                    }
+                }
+            });
+            rowAnimations.put(otherOpenPosition, fade);
+        }
+        rowAnimations.put(position, animationEngine.animate(view, moveTo, Float.NaN, duration, interpolator, new AnimationEndListener() {
             @Override
-            public void onAnimationEnd(Animator animation) {
+            public void onAnimationEnd(boolean cancelled) {
+                setHardwareLayer(view, false);
+                endMetricsPhase(SwipeMetrics.PHASE_REVEAL);
+                if (cancelled) {
+                    return;
+                }
                 listView.resetScrolling();
+                rowAnimations.remove(position);
+                setBackVisible(itemViews, getTranslationX(view) != 0);
                 if (swap) {
-                    if (item.isOpen()) {
-                        listView.onClosed(item.getPosition(), item.wasSwipedRight());
-                        item.close();
+                    if (isOpen(position)) {
+                        listView.onClosed(position, wasSwipedRight(position));
+                        openedItems.close(position);
                     } else {
-                        listView.onOpened(item.getPosition(), swapRight);
-                        if (swapRight) item.swipeRight();
-                        else item.swipeLeft();
+                        listView.onOpened(position, swapRight);
+                        openedItems.open(position, swapRight);
+                    }
+                    if (otherOpenPosition != ListView.INVALID_POSITION) {
+                        animateCrush(otherOpenPosition);
                     }
-                    if (isLastItemOpenAndNotMe) animateCrush(lastItem, item);
-                    lastItem = item;
                 }
             }
-        });
-        set.start();
+        }));
     }
 
 
@@ -371,6 +1177,35 @@ public class SwipeListViewTouchListener implements View.OnTouchListener {
         paused = !enabled;
     }
 
+    /**
+     * Sets the time before swipes are enabled again once the list stops scrolling
+     *
+     * @param swipeScrollCooldown time in milliseconds
+     */
+    public void setSwipeScrollCooldown(long swipeScrollCooldown) {
+        this.swipeScrollCooldown = swipeScrollCooldown;
+    }
+
+    /**
+     * Disables swipes while the list scrolls, cancelling any pending enable
+     */
+    private void disableSwipeWhileScrolling() {
+        listView.removeCallbacks(enableSwipe);
+        setEnabled(false);
+    }
+
+    /**
+     * Enables swipes after the cooldown, replacing any pending enable
+     */
+    private void enableSwipeAfterScrolling() {
+        listView.removeCallbacks(enableSwipe);
+        if (swipeScrollCooldown > 0) {
+            listView.postDelayed(enableSwipe, swipeScrollCooldown);
+        } else {
+            setEnabled(true);
+        }
+    }
+
     /**
      * Return ScrollListener for ListView
      *
@@ -380,46 +1215,58 @@ public class SwipeListViewTouchListener implements View.OnTouchListener {
         return new AbsListView.OnScrollListener() {
             @Override
             public void onScrollStateChanged(AbsListView absListView, int scrollState) {
-                setEnabled(scrollState != AbsListView.OnScrollListener.SCROLL_STATE_TOUCH_SCROLL);
                 if (scrollState == SCROLL_STATE_TOUCH_SCROLL) {
 //                    dismissOpenItem();
-                    crushOpenItem();
+                    if (swipeCloseAllItemsWhenMoveList) {
+                        closeOpenItem();
+                    } else {
+                        crushOpenItem();
+                    }
                     listViewMoving = true;
-                    setEnabled(false);
-                }
-                if (scrollState != AbsListView.OnScrollListener.SCROLL_STATE_FLING && scrollState != SCROLL_STATE_TOUCH_SCROLL) {
+                    disableSwipeWhileScrolling();
+                } else if (scrollState == SCROLL_STATE_FLING) {
+                    disableSwipeWhileScrolling();
+                } else {
                     listViewMoving = false;
                     listView.resetScrolling();
-                    new Handler().postDelayed(new Runnable() {
-                        public void run() {
-                            setEnabled(true);
-                        }
-                    }, 500);
+                    enableSwipeAfterScrolling();
                 }
             }
 
             @Override
-            public void onScroll(AbsListView absListView, int i, int i1, int i2) {
+            public void onScroll(AbsListView absListView, int firstVisibleItem, int visibleItemCount, int totalItemCount) {
+                // rows entering the list may have been recycled with their back view visible
+                if (firstVisibleItem != lastFirstVisiblePosition || visibleItemCount != lastVisibleItemCount) {
+                    lastFirstVisiblePosition = firstVisibleItem;
+                    lastVisibleItemCount = visibleItemCount;
+                    syncBackViews();
+                }
             }
         };
     }
 
     /**
-     * dismisses last opened item.
+     * dismisses last opened item. When many items can be open they are closed instead.
      */
     public void crushOpenItem() {
-        if (!lastItem.isOpen()) return;
-        animateCrush(lastItem);
+        if (openedItems.isEmpty()) return;
+        if (swipeOpenMultiple) {
+            closeOpenItem();
+        } else {
+            animateCrush(openedItems.nextOpen(0));
+        }
     }
 
     /**
-     * Close last opened item if still open, otherwise does nothing.
+     * Close opened items if still open, otherwise does nothing.
      */
     public void closeOpenItem() {
-        if (!lastItem.isOpen()) return;
-        View view = findFrontViewByPosition(lastItem.getPosition());
-        animateReveal(view, true, lastItem.wasSwipedLeft(), lastItem);
-        lastItem.close();
+        if (openedItems.isEmpty()) return;
+        int[] positions = new int[openedItems.size()];
+        for (int i = 0, position = openedItems.nextOpen(0); position >= 0; position = openedItems.nextOpen(position + 1)) {
+            positions[i++] = position;
+        }
+        closeAnimate(positions);
     }
 
     /**
@@ -429,6 +1276,7 @@ public class SwipeListViewTouchListener implements View.OnTouchListener {
     public boolean onTouch(View view, MotionEvent motionEvent) {
         if (viewWidth < 2) {
             viewWidth = listView.getWidth();
+            gesture.setViewWidth(viewWidth);
         }
 
         switch (motionEvent.getActionMasked()) {
@@ -437,114 +1285,137 @@ public class SwipeListViewTouchListener implements View.OnTouchListener {
                     return false;
                 }
                 swipeCurrentAction = SwipeListView.SWIPE_ACTION_NONE;
+                settleInterrupted = false;
+                gesture.cancel();
 
-                int childCount = listView.getChildCount();
-                int[] listViewCoords = new int[2];
                 listView.getLocationOnScreen(listViewCoords);
                 int x = (int) motionEvent.getRawX() - listViewCoords[0];
                 int y = (int) motionEvent.getRawY() - listViewCoords[1];
-                View child;
-                for (int i = 0; i < childCount; i++) {
-                    child = listView.getChildAt(i);
-                    child.getHitRect(rect);
-                    if (rect.contains(x, y) && listView.getAdapter().isEnabled(listView.getFirstVisiblePosition() + i)) {
-                        setParentView(child);
-                        setFrontView(child.findViewById(swipeFrontView));
-                        downX = motionEvent.getRawX();
-                        downPosition = listView.getPositionForView(child);
-
-                        frontView.setClickable(!isOpen(downPosition));
-                        frontView.setLongClickable(!isOpen(downPosition));
-
-                        velocityTracker = VelocityTracker.obtain();
-                        velocityTracker.addMovement(motionEvent);
-                        if (swipeBackView > 0) {
-                            setBackView(child.findViewById(swipeBackView));
-                        }
-                        break;
+                int index = findChildIndexAt(x, y);
+                int position = listView.getFirstVisiblePosition() + index;
+                if (index >= 0 && listView.getAdapter().isEnabled(position)) {
+                    View child = listView.getChildAt(index);
+                    SwipeItemViews views = listView.getItemViews(child);
+                    setParentView(child);
+                    setFrontView(views.front);
+                    downPosition = position;
+
+                    frontView.setClickable(!isOpen(downPosition));
+                    frontView.setLongClickable(!isOpen(downPosition));
+
+                    boolean open = isOpen(downPosition);
+                    int mode = listView.changeSwipeMode(downPosition);
+                    if (mode == SwipeListView.SWIPE_MODE_DEFAULT) {
+                        mode = swipeMode;
+                    }
+                    gesture.down(motionEvent.getEventTime(), motionEvent.getRawX(), motionEvent.getRawY(),
+                            open, wasSwipedRight(downPosition),
+                            isSwipeEnabled(mode, false) && (open || swipeActionLeft != SwipeListView.SWIPE_ACTION_NONE),
+                            isSwipeEnabled(mode, true) && (open || swipeActionRight != SwipeListView.SWIPE_ACTION_NONE));
+                    settleInterrupted = cancelRowAnimation(downPosition);
+                    if (settleInterrupted) {
+                        // the row is grabbed while settling, the swipe continues from where it is
+                        gesture.setStartTranslation(getTranslationX(views.front) + getTranslationX(child));
                     }
+                    if (swipeBackView > 0 && views.isBackInflated()) {
+                        setBackView(views.back);
+                    }
+                    lastOpenBackView = findLastOpenBackView();
                 }
                 view.onTouchEvent(motionEvent);
                 return true;
             }
 
             case MotionEvent.ACTION_UP: {
-                if (velocityTracker == null || !swiping) {
+                if (!gesture.isTracking()) {
+                    break;
+                }
+                if (!gesture.isSwiping()) {
+                    // a tap or a long press, the click listeners still need the down position
+                    gesture.cancel();
+                    settleInterruptedRow();
                     break;
                 }
 
-                float deltaX = motionEvent.getRawX() - downX;
-                velocityTracker.addMovement(motionEvent);
-                velocityTracker.computeCurrentVelocity(1000);
-                float velocityX = Math.abs(velocityTracker.getXVelocity());
-                if (!isOpen(downPosition)) velocityX = 0;
-
-                float velocityY = Math.abs(velocityTracker.getYVelocity());
-                boolean swap = false;
-                boolean swapRight = false;
-                if (minFlingVelocity <= velocityX && velocityX <= maxFlingVelocity && velocityY < velocityX) {
-                    swapRight = velocityTracker.getXVelocity() > 0;
-                    if (isOpen(downPosition) && wasSwipedRight(downPosition) && swapRight) {
-                        swap = false;
-                    } else if (isOpen(downPosition) && !wasSwipedRight(downPosition) && !swapRight) {
-                        swap = false; //here as well
-                    } else {
-                        swap = true;
-                    }
-                } else if (Math.abs(deltaX) > viewWidth / 2) {
-                    swap = true;
-                    swapRight = deltaX > 0;
+                gesture.up(motionEvent.getEventTime(), motionEvent.getRawX(), motionEvent.getRawY());
+                endMetricsPhase(SwipeMetrics.PHASE_DRAG);
+                boolean swap = gesture.isSwap();
+                boolean swapRight = gesture.isSwapRight();
+                if (swap && !isOpen(downPosition) && swapRight != gesture.isSwipingRight()) {
+                    // the action belongs to the direction the swipe started in
+                    swap = false;
                 }
+                settleWithVelocity = true;
                 chooseAnimation(frontView, swap, swapRight, downPosition);
+                settleWithVelocity = false;
 
-                velocityTracker.recycle();
-                velocityTracker = null;
-                downX = 0;
                 // change clickable front view
-                if (swap) {
+                if (swap && swipeCurrentAction == SwipeListView.SWIPE_ACTION_REVEAL) {
                     frontView.setClickable(isOpen(downPosition));
                     frontView.setLongClickable(isOpen(downPosition));
                 }
-                frontView = null;
-                backView = null;
-                this.downPosition = ListView.INVALID_POSITION;
-                swiping = false;
+                resetTouch();
                 break;
             }
 
-            case MotionEvent.ACTION_MOVE: {
-                if (velocityTracker == null || paused) {
+            case MotionEvent.ACTION_CANCEL: {
+                if (!gesture.isTracking()) {
                     break;
                 }
+                final boolean swiping = gesture.isSwiping();
+                gesture.cancel();
+                if (swiping) {
+                    // the touch was taken away, the row goes back to where it was
+                    endMetricsPhase(SwipeMetrics.PHASE_DRAG);
+                    chooseAnimation(frontView, false, false, downPosition);
+                } else {
+                    settleInterruptedRow();
+                }
+                resetTouch();
+                break;
+            }
 
-                velocityTracker.addMovement(motionEvent);
-                velocityTracker.computeCurrentVelocity(1000);
-                float velocityX = Math.abs(velocityTracker.getXVelocity());
-                float velocityY = Math.abs(velocityTracker.getYVelocity());
-
-                float deltaX = motionEvent.getRawX() - downX;
-                float deltaMode = Math.abs(deltaX);
+            case MotionEvent.ACTION_MOVE: {
+                if (!gesture.isTracking() || paused) {
+                    break;
+                }
 
-                if (deltaMode > slop && swipeCurrentAction == SwipeListView.SWIPE_ACTION_NONE && velocityY < velocityX) {
-                    swiping = true;
-                    boolean swipingRight = (deltaX > 0);
-                    swipeCurrentAction = SwipeListView.SWIPE_ACTION_REVEAL;
+                if (swipeLowLatency) {
+                    addHistoricalSamples(motionEvent);
+                }
+                if (gesture.move(motionEvent.getEventTime(), motionEvent.getRawX(), motionEvent.getRawY())) {
+                    boolean swipingRight = gesture.isSwipingRight();
+                    settleInterrupted = false;
+                    if (isOpen(downPosition)) {
+                        swipeCurrentAction = SwipeListView.SWIPE_ACTION_REVEAL;
+                    } else {
+                        swipeCurrentAction = swipingRight ? swipeActionRight : swipeActionLeft;
+                    }
+                    if (swipeCurrentAction != SwipeListView.SWIPE_ACTION_DISMISS) {
+                        SwipeItemViews views = listView.getItemViews(parentView);
+                        if (!views.isBackInflated()) {
+                            setBackView(views.inflateBack());
+                        }
+                        setBackVisible(views, true);
+                    }
                     if (isOpen(downPosition)) {
                         listView.onStartClose(downPosition, swipingRight);
                     } else {
                         listView.onStartOpen(downPosition, swipeCurrentAction, swipingRight);
                     }
                     listView.requestDisallowInterceptTouchEvent(true);
-                    MotionEvent cancelEvent = MotionEvent.obtain(motionEvent);
-                    cancelEvent.setAction(MotionEvent.ACTION_CANCEL | (motionEvent.getActionIndex() << MotionEvent.ACTION_POINTER_INDEX_SHIFT));
-                    listView.onTouchEvent(cancelEvent);
+                    cancelListViewTouch(motionEvent);
+                    setHardwareLayer(swipeCurrentAction == SwipeListView.SWIPE_ACTION_DISMISS ? parentView : frontView, true);
+                    if (swipeCurrentAction == SwipeListView.SWIPE_ACTION_REVEAL) {
+                        setHardwareLayer(lastOpenBackView, true);
+                    }
+                    if (metrics != null) {
+                        metrics.swipeStarted(motionEvent.getDownTime());
+                    }
                 }
 
-                if (swiping) {
-                    if (isOpen(downPosition)) {
-                        deltaX += wasSwipedRight(downPosition) ? viewWidth - rightOffset : -viewWidth + leftOffset;
-                    }
-                    move(deltaX);
+                if (gesture.isSwiping()) {
+                    move(swipeLowLatency ? gesture.getPredictedTranslation(PREDICTION_TIME, slop) : gesture.getTranslation());
                     return true;
                 }
                 break;
@@ -553,12 +1424,98 @@ public class SwipeListViewTouchListener implements View.OnTouchListener {
         return false;
     }
 
+    /**
+     * Finds the child under the given point
+     *
+     * @param x X coordinate relative to the list
+     * @param y Y coordinate relative to the list
+     * @return index of the child or -1 if there is no child in that point
+     */
+    private int findChildIndexAt(int x, int y) {
+        final int index = RowFinder.find(rows, y);
+        if (index < 0) {
+            return -1;
+        }
+        listView.getChildAt(index).getHitRect(rect);
+        return rect.contains(x, y) ? index : -1;
+    }
+
+    /**
+     * Checks a swipe mode
+     *
+     * @param mode  swipe mode of the row
+     * @param right true to swipe to the right
+     * @return true if a closed item can be swiped in that direction
+     */
+    private boolean isSwipeEnabled(int mode, boolean right) {
+        switch (mode) {
+            case SwipeListView.SWIPE_MODE_NONE:
+                return false;
+            case SwipeListView.SWIPE_MODE_RIGHT:
+                return right;
+            case SwipeListView.SWIPE_MODE_LEFT:
+                return !right;
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * Settles the touched row again when the touch stopped its animation but never became a swipe
+     */
+    private void settleInterruptedRow() {
+        if (!settleInterrupted) {
+            return;
+        }
+        settleInterrupted = false;
+        swipeCurrentAction = getTranslationX(parentView) != 0 ? SwipeListView.SWIPE_ACTION_DISMISS : SwipeListView.SWIPE_ACTION_REVEAL;
+        chooseAnimation(frontView, false, false, downPosition);
+    }
+
+    /**
+     * Forgets the touched row once the touch ends
+     */
+    private void resetTouch() {
+        frontView = null;
+        backView = null;
+        lastOpenBackView = null;
+        downPosition = ListView.INVALID_POSITION;
+    }
+
+    /**
+     * Feeds the samples batched in a move event to the gesture. Historical coordinates are
+     * relative to the list, they are moved to screen coordinates like the raw ones
+     *
+     * @param motionEvent move event
+     */
+    private void addHistoricalSamples(MotionEvent motionEvent) {
+        final float offsetX = motionEvent.getRawX() - motionEvent.getX();
+        final float offsetY = motionEvent.getRawY() - motionEvent.getY();
+        for (int i = 0, size = motionEvent.getHistorySize(); i < size; i++) {
+            gesture.addSample(motionEvent.getHistoricalEventTime(i),
+                    motionEvent.getHistoricalX(i) + offsetX, motionEvent.getHistoricalY(i) + offsetY);
+        }
+    }
+
+    /**
+     * Sends a cancel event to the list so it stops handling the gesture. The current event is
+     * reused instead of obtaining a copy, its action is restored afterwards.
+     *
+     * @param motionEvent current event
+     */
+    private void cancelListViewTouch(MotionEvent motionEvent) {
+        final int action = motionEvent.getAction();
+        motionEvent.setAction(MotionEvent.ACTION_CANCEL | (motionEvent.getActionIndex() << MotionEvent.ACTION_POINTER_INDEX_SHIFT));
+        listView.onTouchEvent(motionEvent);
+        motionEvent.setAction(action);
+    }
+
     private boolean wasSwipedRight(final int position) {
-        return lastItem.getPosition() == position && lastItem.wasSwipedRight();
+        return openedItems.wasSwipedRight(position);
     }
 
     private boolean isOpen(final int position) {
-        return lastItem.getPosition() == position && lastItem.isOpen();
+        return openedItems.isOpen(position);
     }
 
     /**
@@ -571,9 +1528,11 @@ public class SwipeListViewTouchListener implements View.OnTouchListener {
         if (swipeCurrentAction == SwipeListView.SWIPE_ACTION_DISMISS) {
             setTranslationX(parentView, deltaX);
             setAlpha(parentView, Math.max(0f, Math.min(1f, 1f - 2f * Math.abs(deltaX) / viewWidth)));
+        } else if (swipeCurrentAction == SwipeListView.SWIPE_ACTION_CHECK) {
+            setTranslationX(frontView, deltaX);
         } else {
-            if (downPosition != lastItem.getPosition() && lastItem.isOpen()) {
-                setAlpha(findBackViewByPosition(lastItem.getPosition()), calculateAlpha(deltaX));
+            if (lastOpenBackView != null) {
+                setAlpha(lastOpenBackView, calculateAlpha(deltaX));
             }
             setTranslationX(frontView, deltaX);
         }
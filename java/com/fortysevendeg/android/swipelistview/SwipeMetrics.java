@@ -0,0 +1,220 @@
+/*
+ * Copyright (C) 2013 47 Degrees, LLC
+ * http://47deg.com
+ * hello@47deg.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fortysevendeg.android.swipelistview;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.view.Choreographer;
+
+/**
+ * Frame statistics of swipe gestures and animations. A Choreographer frame callback is posted
+ * only while a drag or an animation is running, and every frame is recorded in fixed size
+ * histograms, so nothing is allocated once enabled. Requires Jelly Bean, see
+ * {@link SwipeListView#setSwipeMetricsEnabled(boolean)}.
+ */
+@TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+public class SwipeMetrics implements Choreographer.FrameCallback {
+
+    /**
+     * User is dragging an item
+     */
+    public static final int PHASE_DRAG = 0;
+
+    /**
+     * Items are opening or closing
+     */
+    public static final int PHASE_REVEAL = 1;
+
+    /**
+     * Dismissed items are collapsing
+     */
+    public static final int PHASE_COLLAPSE = 2;
+
+    private static final int PHASE_COUNT = 3;
+
+    private final Choreographer choreographer = Choreographer.getInstance();
+    private final float frameIntervalNanos;
+
+    private final int[] activePhases = new int[PHASE_COUNT];
+    private final FrameHistogram[] frameTimes = new FrameHistogram[PHASE_COUNT];
+    private final int[] frameCounts = new int[PHASE_COUNT];
+    private final int[] droppedFrames = new int[PHASE_COUNT];
+    private final long[] worstFrameTimes = new long[PHASE_COUNT];
+    private final FrameHistogram startLatencies = new FrameHistogram();
+    private int gestureCount;
+
+    private boolean posted;
+    private long lastFrameTimeNanos;
+    private long pendingDownTime = -1;
+
+    /**
+     * Constructor
+     *
+     * @param refreshRate refresh rate of the display, in frames per second
+     */
+    SwipeMetrics(float refreshRate) {
+        frameIntervalNanos = 1000000000f / (refreshRate > 0 ? refreshRate : 60f);
+        for (int i = 0; i < PHASE_COUNT; i++) {
+            frameTimes[i] = new FrameHistogram();
+        }
+    }
+
+    /**
+     * A swipe started, the latency is measured until the next frame
+     *
+     * @param downTime time of the down event, in SystemClock.uptimeMillis() base
+     */
+    void swipeStarted(long downTime) {
+        pendingDownTime = downTime;
+        gestureCount++;
+        startPhase(PHASE_DRAG);
+    }
+
+    /**
+     * Starts recording frames for a phase
+     *
+     * @param phase PHASE_DRAG, PHASE_REVEAL or PHASE_COLLAPSE
+     */
+    void startPhase(int phase) {
+        activePhases[phase]++;
+        if (!posted) {
+            posted = true;
+            choreographer.postFrameCallback(this);
+        }
+    }
+
+    /**
+     * Stops recording frames for a phase
+     *
+     * @param phase PHASE_DRAG, PHASE_REVEAL or PHASE_COLLAPSE
+     */
+    void endPhase(int phase) {
+        if (activePhases[phase] > 0) {
+            activePhases[phase]--;
+        }
+    }
+
+    /**
+     * @see android.view.Choreographer.FrameCallback#doFrame(long)
+     */
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        posted = false;
+        if (pendingDownTime >= 0) {
+            startLatencies.record(frameTimeNanos / 1000000 - pendingDownTime);
+            pendingDownTime = -1;
+        }
+        boolean active = false;
+        if (lastFrameTimeNanos > 0) {
+            final long frameTimeMillis = (frameTimeNanos - lastFrameTimeNanos) / 1000000;
+            final int dropped = Math.max(0, Math.round((frameTimeNanos - lastFrameTimeNanos) / frameIntervalNanos) - 1);
+            for (int phase = 0; phase < PHASE_COUNT; phase++) {
+                if (activePhases[phase] > 0) {
+                    frameTimes[phase].record(frameTimeMillis);
+                    frameCounts[phase]++;
+                    droppedFrames[phase] += dropped;
+                    worstFrameTimes[phase] = Math.max(worstFrameTimes[phase], frameTimeMillis);
+                }
+            }
+        }
+        for (int phase = 0; phase < PHASE_COUNT; phase++) {
+            active |= activePhases[phase] > 0;
+        }
+        if (active) {
+            lastFrameTimeNanos = frameTimeNanos;
+            posted = true;
+            choreographer.postFrameCallback(this);
+        } else {
+            lastFrameTimeNanos = 0;
+        }
+    }
+
+    /**
+     * Stops the frame callback
+     */
+    void stop() {
+        choreographer.removeFrameCallback(this);
+        posted = false;
+        lastFrameTimeNanos = 0;
+        for (int phase = 0; phase < PHASE_COUNT; phase++) {
+            activePhases[phase] = 0;
+        }
+    }
+
+    /**
+     * @param phase PHASE_DRAG, PHASE_REVEAL or PHASE_COLLAPSE
+     * @return frame times of the phase
+     */
+    public FrameHistogram getFrameTimes(int phase) {
+        return frameTimes[phase];
+    }
+
+    /**
+     * @param phase PHASE_DRAG, PHASE_REVEAL or PHASE_COLLAPSE
+     * @return frames drawn during the phase
+     */
+    public int getFrameCount(int phase) {
+        return frameCounts[phase];
+    }
+
+    /**
+     * @param phase PHASE_DRAG, PHASE_REVEAL or PHASE_COLLAPSE
+     * @return frames skipped during the phase
+     */
+    public int getDroppedFrames(int phase) {
+        return droppedFrames[phase];
+    }
+
+    /**
+     * @param phase PHASE_DRAG, PHASE_REVEAL or PHASE_COLLAPSE
+     * @return longest frame of the phase in milliseconds
+     */
+    public long getWorstFrameTime(int phase) {
+        return worstFrameTimes[phase];
+    }
+
+    /**
+     * @return time from the down event to the first frame of each swipe
+     */
+    public FrameHistogram getStartLatencies() {
+        return startLatencies;
+    }
+
+    /**
+     * @return number of swipes recorded
+     */
+    public int getGestureCount() {
+        return gestureCount;
+    }
+
+    /**
+     * Forgets all recorded values
+     */
+    public void reset() {
+        for (int phase = 0; phase < PHASE_COUNT; phase++) {
+            frameTimes[phase].reset();
+            frameCounts[phase] = 0;
+            droppedFrames[phase] = 0;
+            worstFrameTimes[phase] = 0;
+        }
+        startLatencies.reset();
+        gestureCount = 0;
+    }
+
+}
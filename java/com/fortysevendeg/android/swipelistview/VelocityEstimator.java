@@ -0,0 +1,135 @@
+/*
+ * Copyright (C) 2013 47 Degrees, LLC
+ * http://47deg.com
+ * hello@47deg.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fortysevendeg.android.swipelistview;
+
+/**
+ * Estimates the velocity of a pointer without depending on MotionEvent, as the slope of an
+ * unweighted least squares straight line over the samples of the last 100 ms. VelocityTracker
+ * fits a second degree polynomial instead, so the velocities, and the flings detected with them,
+ * can differ from the platform ones. Samples are kept in a fixed ring buffer so adding samples and
+ * computing the velocity does not allocate.
+ */
+public class VelocityEstimator {
+
+    /**
+     * Number of samples kept
+     */
+    private static final int HISTORY_SIZE = 20;
+
+    /**
+     * Samples older than this, relative to the last one, are ignored
+     */
+    private static final long HORIZON_MILLIS = 100;
+
+    private final long[] times = new long[HISTORY_SIZE];
+    private final float[] xs = new float[HISTORY_SIZE];
+    private final float[] ys = new float[HISTORY_SIZE];
+    private int index = -1;
+    private int count;
+
+    private float xVelocity;
+    private float yVelocity;
+
+    /**
+     * Adds a sample
+     *
+     * @param time time of the sample in milliseconds
+     * @param x    X coordinate
+     * @param y    Y coordinate
+     */
+    public void addSample(long time, float x, float y) {
+        index = (index + 1) % HISTORY_SIZE;
+        times[index] = time;
+        xs[index] = x;
+        ys[index] = y;
+        if (count < HISTORY_SIZE) {
+            count++;
+        }
+    }
+
+    /**
+     * Computes the velocity with the samples in the horizon, in pixels per second
+     */
+    public void computeVelocity() {
+        xVelocity = 0;
+        yVelocity = 0;
+        if (count < 2) {
+            return;
+        }
+        final long lastTime = times[index];
+        int samples = 0;
+        float meanTime = 0;
+        float meanX = 0;
+        float meanY = 0;
+        for (int i = 0, current = index; i < count; i++, current = (current + HISTORY_SIZE - 1) % HISTORY_SIZE) {
+            long age = lastTime - times[current];
+            if (age > HORIZON_MILLIS) {
+                break;
+            }
+            meanTime -= age;
+            meanX += xs[current];
+            meanY += ys[current];
+            samples++;
+        }
+        if (samples < 2) {
+            return;
+        }
+        meanTime /= samples;
+        meanX /= samples;
+        meanY /= samples;
+        float sumTime = 0;
+        float sumX = 0;
+        float sumY = 0;
+        for (int i = 0, current = index; i < samples; i++, current = (current + HISTORY_SIZE - 1) % HISTORY_SIZE) {
+            float time = (times[current] - lastTime) - meanTime;
+            sumTime += time * time;
+            sumX += time * (xs[current] - meanX);
+            sumY += time * (ys[current] - meanY);
+        }
+        if (sumTime > 0) {
+            xVelocity = sumX / sumTime * 1000;
+            yVelocity = sumY / sumTime * 1000;
+        }
+    }
+
+    /**
+     * @return horizontal velocity from the last computeVelocity call
+     */
+    public float getXVelocity() {
+        return xVelocity;
+    }
+
+    /**
+     * @return vertical velocity from the last computeVelocity call
+     */
+    public float getYVelocity() {
+        return yVelocity;
+    }
+
+    /**
+     * Forgets all samples
+     */
+    public void clear() {
+        index = -1;
+        count = 0;
+        xVelocity = 0;
+        yVelocity = 0;
+    }
+
+}
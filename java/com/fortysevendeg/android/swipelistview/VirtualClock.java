@@ -0,0 +1,160 @@
+/*
+ * Copyright (C) 2013 47 Degrees, LLC
+ * http://47deg.com
+ * hello@47deg.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fortysevendeg.android.swipelistview;
+
+import java.util.ArrayList;
+
+/**
+ * Clock that runs timed animations only when it is advanced, so they can be stepped
+ * deterministically. It has no dependencies on the Android framework, VirtualClockAnimationEngine
+ * applies its frames to views.
+ */
+public class VirtualClock {
+
+    /**
+     * Receives the frames of an animation
+     */
+    public interface FrameListener {
+
+        /**
+         * Called once per advance while the animation runs
+         *
+         * @param input elapsed fraction of the duration, from 0 to 1, not interpolated
+         */
+        void onFrame(float input);
+
+        /**
+         * Called once when the animation reaches its duration or is cancelled
+         *
+         * @param cancelled true if it was cancelled
+         */
+        void onEnd(boolean cancelled);
+
+    }
+
+    private final ArrayList<Timer> timers = new ArrayList<Timer>();
+    private long time;
+
+    /**
+     * Starts an animation, its first frame is applied on the next advance
+     *
+     * @param duration duration in milliseconds
+     * @param listener listener of the frames
+     * @return running animation
+     */
+    public Timer start(long duration, FrameListener listener) {
+        final Timer timer = new Timer(duration, listener);
+        timers.add(timer);
+        return timer;
+    }
+
+    /**
+     * Advances the clock and applies one frame to every running animation. Animations started
+     * while advancing begin on the next call
+     *
+     * @param millis elapsed time in milliseconds
+     */
+    public void advance(long millis) {
+        time += millis;
+        for (int i = 0, count = timers.size(); i < count; i++) {
+            timers.get(i).step(millis);
+        }
+        for (int i = timers.size() - 1; i >= 0; i--) {
+            if (timers.get(i).ended) {
+                timers.remove(i);
+            }
+        }
+    }
+
+    /**
+     * Advances the clock frame by frame until no animation is running
+     *
+     * @param frameMillis duration of a frame in milliseconds
+     */
+    public void finish(long frameMillis) {
+        while (!timers.isEmpty()) {
+            advance(frameMillis);
+        }
+    }
+
+    /**
+     * @return time of the clock in milliseconds
+     */
+    public long getTime() {
+        return time;
+    }
+
+    /**
+     * @return number of running animations, the cancelled ones are dropped on the next advance
+     */
+    public int getRunningCount() {
+        return timers.size();
+    }
+
+    /**
+     * Animation run by the clock
+     */
+    public static class Timer {
+
+        private final long duration;
+        private final FrameListener listener;
+        private long elapsed;
+        private boolean ended;
+
+        Timer(long duration, FrameListener listener) {
+            this.duration = duration;
+            this.listener = listener;
+        }
+
+        void step(long millis) {
+            if (ended) {
+                return;
+            }
+            elapsed += millis;
+            final float input = duration > 0 ? Math.min(1f, (float) elapsed / duration) : 1f;
+            listener.onFrame(input);
+            if (input >= 1f) {
+                end(false);
+            }
+        }
+
+        /**
+         * Stops the animation where it is, its listener is notified
+         */
+        public void cancel() {
+            end(true);
+        }
+
+        /**
+         * @return true once the animation finished or was cancelled
+         */
+        public boolean isEnded() {
+            return ended;
+        }
+
+        private void end(boolean cancelled) {
+            if (!ended) {
+                ended = true;
+                listener.onEnd(cancelled);
+            }
+        }
+
+    }
+
+}
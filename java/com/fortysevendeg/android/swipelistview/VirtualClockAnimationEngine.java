@@ -0,0 +1,161 @@
+/*
+ * Copyright (C) 2013 47 Degrees, LLC
+ * http://47deg.com
+ * hello@47deg.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fortysevendeg.android.swipelistview;
+
+import android.view.View;
+import android.view.animation.Interpolator;
+
+import static com.nineoldandroids.view.ViewHelper.getAlpha;
+import static com.nineoldandroids.view.ViewHelper.getTranslationX;
+import static com.nineoldandroids.view.ViewHelper.setAlpha;
+import static com.nineoldandroids.view.ViewHelper.setTranslationX;
+
+/**
+ * Animation engine driven by a VirtualClock instead of the display. Nothing moves until the
+ * clock is advanced, so animations can be stepped deterministically on a device or an emulator.
+ * The timing lives in VirtualClock, which is framework free and is tested on a plain JVM.
+ * Interpolators are applied as given, null means linear
+ */
+public class VirtualClockAnimationEngine implements SwipeAnimationEngine {
+
+    private final VirtualClock clock;
+
+    public VirtualClockAnimationEngine() {
+        this(new VirtualClock());
+    }
+
+    /**
+     * @param clock clock that runs the animations
+     */
+    public VirtualClockAnimationEngine(VirtualClock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public Animation animate(View view, float translationX, float alpha, long duration, Interpolator interpolator, AnimationListener listener) {
+        final VirtualAnimation animation = new VirtualAnimation(interpolator, listener);
+        animation.view = view;
+        if (!Float.isNaN(translationX)) {
+            animation.animateTranslation = true;
+            animation.startTranslationX = getTranslationX(view);
+            animation.endTranslationX = translationX;
+        }
+        if (!Float.isNaN(alpha)) {
+            animation.animateAlpha = true;
+            animation.startAlpha = getAlpha(view);
+            animation.endAlpha = alpha;
+        }
+        animation.timer = clock.start(duration, animation);
+        return animation;
+    }
+
+    @Override
+    public Animation animate(long duration, Interpolator interpolator, AnimationListener listener) {
+        final VirtualAnimation animation = new VirtualAnimation(interpolator, listener);
+        animation.timer = clock.start(duration, animation);
+        return animation;
+    }
+
+    /**
+     * @return clock that runs the animations
+     */
+    public VirtualClock getClock() {
+        return clock;
+    }
+
+    /**
+     * Advances the clock and applies one frame to every running animation
+     *
+     * @param millis elapsed time in milliseconds
+     * @see VirtualClock#advance(long)
+     */
+    public void advance(long millis) {
+        clock.advance(millis);
+    }
+
+    /**
+     * Advances the clock frame by frame until no animation is running
+     *
+     * @param frameMillis duration of a frame in milliseconds
+     */
+    public void finish(long frameMillis) {
+        clock.finish(frameMillis);
+    }
+
+    /**
+     * @return time of the virtual clock in milliseconds
+     */
+    public long getTime() {
+        return clock.getTime();
+    }
+
+    /**
+     * @return number of running animations
+     */
+    public int getRunningCount() {
+        return clock.getRunningCount();
+    }
+
+    private static class VirtualAnimation implements Animation, VirtualClock.FrameListener {
+
+        private final Interpolator interpolator;
+        private final AnimationListener listener;
+
+        VirtualClock.Timer timer;
+        View view;
+        boolean animateTranslation;
+        float startTranslationX;
+        float endTranslationX;
+        boolean animateAlpha;
+        float startAlpha;
+        float endAlpha;
+
+        VirtualAnimation(Interpolator interpolator, AnimationListener listener) {
+            this.interpolator = interpolator;
+            this.listener = listener;
+        }
+
+        @Override
+        public void onFrame(float input) {
+            final float fraction = interpolator != null ? interpolator.getInterpolation(input) : input;
+            if (animateTranslation) {
+                setTranslationX(view, startTranslationX + (endTranslationX - startTranslationX) * fraction);
+            }
+            if (animateAlpha) {
+                setAlpha(view, startAlpha + (endAlpha - startAlpha) * fraction);
+            }
+            if (view == null && listener != null) {
+                listener.onAnimationUpdate(fraction);
+            }
+        }
+
+        @Override
+        public void onEnd(boolean cancelled) {
+            if (listener != null) {
+                listener.onAnimationEnd(cancelled);
+            }
+        }
+
+        @Override
+        public void cancel() {
+            timer.cancel();
+        }
+
+    }
+
+}